@@ -0,0 +1,87 @@
+package me.rubix327.itemslangapi.bench;
+
+import org.bukkit.Color;
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.enchantments.EnchantmentTarget;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffectType;
+
+/**
+ * Potion effect types and enchantments for the benchmarks.<br>
+ * The constants of these classes are wrappers looking up the instances registered by the server,
+ * and the stub server registers nothing, so the benchmarks use their own instances with the vanilla names.
+ */
+final class BenchObjects {
+
+    private BenchObjects(){ }
+
+    static PotionEffectType effect(int id, String key, String name){
+        return new PotionEffectType(id, NamespacedKey.minecraft(key)) {
+            @Override
+            public double getDurationModifier(){
+                return 1;
+            }
+
+            @Override
+            public String getName(){
+                return name;
+            }
+
+            @Override
+            public boolean isInstant(){
+                return false;
+            }
+
+            @Override
+            public Color getColor(){
+                return Color.WHITE;
+            }
+        };
+    }
+
+    static Enchantment enchantment(String key, String name){
+        return new Enchantment(NamespacedKey.minecraft(key)) {
+            @Override
+            public String getName(){
+                return name;
+            }
+
+            @Override
+            public int getMaxLevel(){
+                return 5;
+            }
+
+            @Override
+            public int getStartLevel(){
+                return 1;
+            }
+
+            @Override
+            public EnchantmentTarget getItemTarget(){
+                return EnchantmentTarget.WEAPON;
+            }
+
+            @Override
+            public boolean isTreasure(){
+                return false;
+            }
+
+            @Override
+            public boolean isCursed(){
+                return false;
+            }
+
+            @Override
+            public boolean conflictsWith(Enchantment other){
+                return false;
+            }
+
+            @Override
+            public boolean canEnchantItem(ItemStack item){
+                return true;
+            }
+        };
+    }
+
+}
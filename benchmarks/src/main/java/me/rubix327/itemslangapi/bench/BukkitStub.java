@@ -0,0 +1,68 @@
+package me.rubix327.itemslangapi.bench;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.inventory.ItemFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The minimal Bukkit environment needed by the API outside of a server.<br>
+ * The server is a proxy answering only the version and logger requests, every other method returns
+ * null, false or 0. The server version can be set by the <i>ila.bench.version</i> system property
+ * (e.g. 1.12.2-R0.1-SNAPSHOT to run the API in the legacy mode), by default it is 1.19.2-R0.1-SNAPSHOT.
+ */
+public final class BukkitStub {
+
+    private static final String VERSION = System.getProperty("ila.bench.version", "1.19.2-R0.1-SNAPSHOT");
+
+    private BukkitStub(){ }
+
+    /**
+     * Install the stub server if there is no server yet.
+     */
+    public static synchronized void install(){
+        if (Bukkit.getServer() != null) return;
+        Logger logger = Logger.getLogger("ItemsLangApiBenchmark");
+        // The load methods log every call, which would only add noise to the results
+        logger.setLevel(Level.WARNING);
+        Bukkit.setServer(proxy(Server.class, logger));
+    }
+
+    private static <T> T proxy(Class<T> type, Logger logger){
+        InvocationHandler handler = (proxy, method, args) -> answer(proxy, method, args, logger);
+        return type.cast(Proxy.newProxyInstance(BukkitStub.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object answer(Object proxy, Method method, Object[] args, Logger logger){
+        switch (method.getName()){
+            case "getLogger": return logger;
+            case "getName": return "BukkitStub";
+            case "getVersion": return "BukkitStub (MC: " + VERSION.substring(0, VERSION.indexOf('-')) + ")";
+            case "getBukkitVersion": return VERSION;
+            case "hashCode": return System.identityHashCode(proxy);
+            case "equals": return proxy == args[0];
+            case "toString": return "BukkitStub";
+        }
+        // ItemStack#getDurability asks the item factory for the item meta, null means no meta
+        if (method.getReturnType() == ItemFactory.class) return proxy(ItemFactory.class, logger);
+        return defaultValue(method.getReturnType());
+    }
+
+    private static Object defaultValue(Class<?> type){
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        return 0d;
+    }
+
+}
@@ -0,0 +1,78 @@
+package me.rubix327.itemslangapi.bench;
+
+import me.rubix327.itemslangapi.Comp;
+import me.rubix327.itemslangapi.ItemsLangAPI;
+import me.rubix327.itemslangapi.Lang;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The legacy (1.8 - 1.12) code paths. The stub server reports 1.12.2, so the API runs in the legacy mode.<br>
+ * The legacy ids table is built from the materials of the Bukkit API on the classpath, so this benchmark
+ * is only built by the <i>legacy</i> profile, which compiles it against the 1.12.2 API:
+ * <pre>mvn -f benchmarks/pom.xml -P legacy package</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dila.bench.version=1.12.2-R0.1-SNAPSHOT")
+public class LegacyBenchmark {
+
+    private ItemsLangAPI api;
+    private ItemStack stone;
+
+    @Setup
+    public void setup(){
+        BukkitStub.install();
+        if (!Comp.isLegacy()) throw new IllegalStateException("The stub server is not legacy");
+        // The modern API has no WOOL, the table would miss most of its rows
+        Material wool = Material.getMaterial("WOOL");
+        if (wool == null || !"orange_wool".equals(Comp.getModernId(wool, 1))){
+            throw new IllegalStateException("The legacy ids are not resolved, build the benchmarks with -P legacy");
+        }
+        api = ItemsLangAPI.getApi();
+        api.load(Lang.FR_FR);
+        stone = new ItemStack(Material.STONE);
+    }
+
+    /**
+     * An id present in the legacy table (stone-1 -> granite).
+     */
+    @Benchmark
+    public String getModernId(){
+        return Comp.getModernId(Material.STONE, 1);
+    }
+
+    /**
+     * An id absent from the legacy table, the name of the material is returned.
+     */
+    @Benchmark
+    public String getModernIdMissing(){
+        return Comp.getModernId(Material.DIAMOND_SWORD, 0);
+    }
+
+    @Benchmark
+    public String getModernIdItem(){
+        return Comp.getModernId(stone);
+    }
+
+    @Benchmark
+    public String translateItem(){
+        return api.translate(stone, Lang.FR_FR);
+    }
+
+}
@@ -0,0 +1,68 @@
+package me.rubix327.itemslangapi.bench;
+
+import me.rubix327.itemslangapi.ItemsLangAPI;
+import me.rubix327.itemslangapi.Lang;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading the languages. Every measured load starts with only the default language loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(2)
+public class LoadBenchmark {
+
+    private static final Lang[] SOME = {Lang.FR_FR, Lang.DE_DE, Lang.ES_ES, Lang.RU_RU, Lang.ZH_CN};
+
+    private ItemsLangAPI api;
+
+    @Setup
+    public void setup(){
+        BukkitStub.install();
+        api = ItemsLangAPI.getApi();
+    }
+
+    @TearDown(Level.Iteration)
+    public void unload(){
+        List<Lang> loaded = new ArrayList<>(api.getLoaded());
+        loaded.remove(api.getDefault());
+        api.unload(loaded.toArray(new Lang[0]));
+    }
+
+    /**
+     * A single language, i.e. reading one table.
+     */
+    @Benchmark
+    public void loadOne(){
+        api.load(Lang.FR_FR);
+    }
+
+    @Benchmark
+    public void load(){
+        api.load(SOME);
+    }
+
+    @Benchmark
+    public void loadAll(){
+        api.loadAll();
+    }
+
+}
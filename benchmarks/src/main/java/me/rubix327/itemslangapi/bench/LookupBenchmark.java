@@ -0,0 +1,105 @@
+package me.rubix327.itemslangapi.bench;
+
+import me.rubix327.itemslangapi.ItemsLangAPI;
+import me.rubix327.itemslangapi.Lang;
+import me.rubix327.itemslangapi.TranslationKey;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The key based translate methods, the String language overloads, the formatted and the batch translation,
+ * with the translations kept on the heap and outside of it (see ItemsLangAPI#setOffHeap).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LookupBenchmark {
+
+    @Param({"heap", "offHeap"})
+    private String storage;
+
+    private ItemsLangAPI api;
+    private TranslationKey key;
+    private TranslationKey formatKey;
+    private ItemStack[] inventory;
+
+    @Setup
+    public void setup(){
+        BukkitStub.install();
+        api = ItemsLangAPI.getApi();
+        api.hideWarnings();
+        if (storage.equals("offHeap")) api.setOffHeap(256);
+        api.load(Lang.FR_FR);
+        key = api.getKey("item.minecraft.diamond_sword");
+        formatKey = api.getKey("potion.withAmplifier");
+
+        // A double chest with a few kinds of items and empty slots
+        Material[] types = {Material.STONE, Material.DIAMOND_SWORD, Material.OAK_LOG, Material.BREAD, Material.TORCH};
+        inventory = new ItemStack[54];
+        for (int i = 0; i < inventory.length; i++){
+            if (i % 6 != 5) inventory[i] = new ItemStack(types[i % types.length]);
+        }
+    }
+
+    @Benchmark
+    public String translateExact(){
+        return api.translateExact("item.minecraft.diamond_sword", Lang.FR_FR);
+    }
+
+    @Benchmark
+    public String translateExactMissing(){
+        return api.translateExact("item.minecraft.no_such_item", Lang.FR_FR);
+    }
+
+    @Benchmark
+    public String translateKey(){
+        return api.translate(key, Lang.FR_FR);
+    }
+
+    @Benchmark
+    public String translateFormatted(){
+        return api.translateFormatted(formatKey, Lang.FR_FR, "Speed", "II");
+    }
+
+    @Benchmark
+    public String translateAndStringFormat(){
+        return String.format(api.translate(formatKey, Lang.FR_FR), "Speed", "II");
+    }
+
+    @Benchmark
+    public String translateAnything(){
+        return api.translateAnything("fox", Lang.FR_FR);
+    }
+
+    @Benchmark
+    public String translateStringLang(){
+        return api.translate(Material.STONE, "fr_fr");
+    }
+
+    @Benchmark
+    public String translateStringLangInvalid(){
+        return api.translate(Material.STONE, "xx_xx");
+    }
+
+    @Benchmark
+    public String[] translateAllInventory(){
+        return api.translateAll(inventory, Lang.FR_FR);
+    }
+
+}
@@ -0,0 +1,69 @@
+package me.rubix327.itemslangapi.bench;
+
+import me.rubix327.itemslangapi.ItemsLangAPI;
+import me.rubix327.itemslangapi.Lang;
+import org.bukkit.Material;
+import org.bukkit.Statistic;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Villager;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ItemsLangAPI#translate(Object, Lang)} for an object of every category.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TranslateBenchmark {
+
+    @Param({"ITEM_STACK", "MATERIAL", "POTION_EFFECT_TYPE", "ENTITY_TYPE", "BIOME", "VILLAGER_PROFESSION",
+            "ENCHANTMENT", "STATISTIC"})
+    public String category;
+
+    private ItemsLangAPI api;
+    private Object object;
+
+    @Setup
+    public void setup(){
+        BukkitStub.install();
+        api = ItemsLangAPI.getApi();
+        api.load(Lang.FR_FR);
+        switch (category){
+            case "ITEM_STACK": object = new ItemStack(Material.DIAMOND_SWORD); break;
+            case "MATERIAL": object = Material.STONE; break;
+            case "POTION_EFFECT_TYPE": object = BenchObjects.effect(1, "speed", "SPEED"); break;
+            case "ENTITY_TYPE": object = EntityType.FOX; break;
+            case "BIOME": object = Biome.PLAINS; break;
+            case "VILLAGER_PROFESSION": object = Villager.Profession.ARMORER; break;
+            case "ENCHANTMENT": object = BenchObjects.enchantment("sharpness", "DAMAGE_ALL"); break;
+            case "STATISTIC": object = Statistic.DEATHS; break;
+            default: throw new IllegalArgumentException(category);
+        }
+        if (api.translate(object, Lang.FR_FR) == null){
+            throw new IllegalStateException("No translation for " + category);
+        }
+    }
+
+    @Benchmark
+    public String translate(){
+        return api.translate(object, Lang.FR_FR);
+    }
+
+}
@@ -0,0 +1,167 @@
+package me.rubix327.itemslangapi;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Compiles the language files and the legacy ids table into the binary {@link LangPack}.<br>
+ * It is compiled and run by Maven during the build and is not packaged into the plugin jar.<br>
+ * Usage: LangPackWriter &lt;lang directory&gt; &lt;legacy.yml&gt; &lt;output directory&gt;
+ */
+public final class LangPackWriter {
+
+    private LangPackWriter(){ }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3){
+            throw new IllegalArgumentException("Usage: LangPackWriter <lang directory> <legacy.yml> <output directory>");
+        }
+        File langDir = new File(args[0]);
+        File legacyFile = new File(args[1]);
+        File outputDir = new File(args[2]);
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()){
+            throw new IOException("Could not create " + outputDir);
+        }
+
+        EnumMap<Lang, Map<String, String>> langs = new EnumMap<>(Lang.class);
+        for (Lang lang : Lang.values()){
+            File file = new File(langDir, lang.getCode() + ".json");
+            if (!file.isFile()) throw new IOException("File " + file + " does not exist.");
+            Map<String, String> items = new LinkedHashMap<>(8192);
+            try (InputStream in = new FileInputStream(file)){
+                LangFileReader.read(in, items);
+            }
+            langs.put(lang, items);
+        }
+
+        // Keys are sorted, so the tables can store them as small deltas
+        TreeSet<String> sortedKeys = new TreeSet<>();
+        HashMap<String, Integer> usages = new HashMap<>();
+        for (Map<String, String> items : langs.values()){
+            sortedKeys.addAll(items.keySet());
+            for (String value : items.values()){
+                usages.merge(value, 1, Integer::sum);
+            }
+        }
+        HashMap<String, Integer> keyIds = new HashMap<>();
+        for (String key : sortedKeys){
+            keyIds.put(key, keyIds.size());
+        }
+        List<String> shared = new ArrayList<>();
+        HashMap<String, Integer> sharedIds = new HashMap<>();
+        for (Map<String, String> items : langs.values()){
+            for (String value : items.values()){
+                if (usages.get(value) > 1 && !sharedIds.containsKey(value)){
+                    sharedIds.put(value, shared.size());
+                    shared.add(value);
+                }
+            }
+        }
+
+        try (DataOutputStream out = open(new File(outputDir, "dictionary.bin"))){
+            out.writeInt(LangPack.MAGIC);
+            out.writeInt(LangPack.VERSION);
+            LangPack.writeVarInt(out, sortedKeys.size());
+            for (String key : sortedKeys){
+                LangPack.writeString(out, key);
+            }
+
+            List<byte[]> sharedBytes = new ArrayList<>(shared.size());
+            int total = 0;
+            for (String value : shared){
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                sharedBytes.add(bytes);
+                total += bytes.length;
+            }
+            LangPack.writeVarInt(out, shared.size());
+            out.writeInt(total);
+            for (byte[] bytes : sharedBytes){
+                LangPack.writeVarInt(out, bytes.length);
+            }
+            for (byte[] bytes : sharedBytes){
+                out.write(bytes);
+            }
+
+            Map<String, String> legacy = readLegacy(legacyFile);
+            LangPack.writeVarInt(out, legacy.size());
+            for (Map.Entry<String, String> entry : legacy.entrySet()){
+                LangPack.writeString(out, entry.getKey());
+                LangPack.writeString(out, entry.getValue());
+            }
+        }
+
+        for (Map.Entry<Lang, Map<String, String>> lang : langs.entrySet()){
+            String name = lang.getKey().getCode();
+            try (DataOutputStream out = open(new File(outputDir, name + ".bin"))){
+                out.writeInt(LangPack.MAGIC);
+                Map<String, String> items = lang.getValue();
+                LangPack.writeVarInt(out, items.size());
+                int previous = -1;
+                for (String key : sortedKeys){
+                    String value = items.get(key);
+                    if (value == null) continue;
+                    int keyId = keyIds.get(key);
+                    LangPack.writeVarInt(out, keyId - previous - 1);
+                    previous = keyId;
+
+                    Integer sharedId = sharedIds.get(value);
+                    if (sharedId != null){
+                        LangPack.writeVarInt(out, sharedId + 1);
+                    }
+                    else{
+                        LangPack.writeVarInt(out, 0);
+                        LangPack.writeString(out, value);
+                    }
+                }
+            }
+        }
+
+        System.out.println("[ItemsLangApi] Compiled " + langs.size() + " languages, " + sortedKeys.size() +
+                " keys and " + shared.size() + " shared strings into " + outputDir);
+    }
+
+    private static DataOutputStream open(File file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    }
+
+    /**
+     * Read the legacy.yml file. It consists only of lines like <i>stone-1: "granite"</i>.
+     */
+    private static Map<String, String> readLegacy(File file) throws IOException {
+        Map<String, String> legacy = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)){
+            String line;
+            while ((line = reader.readLine()) != null){
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                int separator = line.indexOf(':');
+                if (separator == -1) throw new IOException("Malformed line in " + file + ": " + line);
+                legacy.put(unquote(line.substring(0, separator).trim()), unquote(line.substring(separator + 1).trim()));
+            }
+        }
+        return legacy;
+    }
+
+    private static String unquote(String value){
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")){
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+}
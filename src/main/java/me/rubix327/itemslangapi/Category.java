@@ -9,7 +9,10 @@ import org.bukkit.entity.Villager;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffectType;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Categories available for translations.
@@ -66,6 +69,46 @@ enum Category {
      */
     STATISTIC("stat.minecraft.", Statistic.class);
 
+    /**
+     * The cached result of {@link #values()}, so iterating the categories does not copy the array.
+     */
+    static final Category[] VALUES = values();
+    /**
+     * The category of every runtime class, resolved once per class.
+     * Null for classes not belonging to any category.
+     */
+    private static final ClassValue<Category> byClass = new ClassValue<Category>() {
+        @Override
+        protected Category computeValue(Class<?> type){
+            for (Category cat : VALUES){
+                if (cat.getClazz().isAssignableFrom(type)) return cat;
+            }
+            return null;
+        }
+    };
+
+    /**
+     * The namespaced keys of the potion effect types and the enchantments, resolved once for every instance.<br>
+     * Bukkit does not provide the vanilla keys of these objects on all the versions, so they are found by their names in {@link Comp}.
+     * {@link #UNKNOWN} marks the objects without a vanilla key (e.g. custom enchantments of other plugins).
+     */
+    private static final ConcurrentHashMap<Object, String> registryKeys = new ConcurrentHashMap<>();
+    private static final String UNKNOWN = "";
+    /**
+     * The category of the items of every material ({@link #BLOCK}, {@link #ITEM} or {@link #MUSIC_DISC}), indexed by its ordinal.
+     */
+    private static final Category[] itemCategories = Arrays.stream(Material.values())
+            .map(Category::resolveItemCategory).toArray(Category[]::new);
+
+    static {
+        for (PotionEffectType type : PotionEffectType.values()){
+            if (type != null) getRegistryKey(type);
+        }
+        for (Enchantment enchantment : Enchantment.values()){
+            if (enchantment != null) getRegistryKey(enchantment);
+        }
+    }
+
     private final String namespace;
     private final Class<?> clazz;
     private final boolean doAdditionalChecks;
@@ -91,40 +134,150 @@ enum Category {
         return this.doAdditionalChecks;
     }
 
+    /**
+     * Get the category of the given object.<br>
+     * ItemStacks belong to {@link #BLOCK}, which resolves the keys of items and music discs too.
+     * @param object the object
+     * @return the category, or null if the object is not translatable
+     */
+    @Nullable
+    static Category of(@Nullable Object object){
+        if (object == null) return null;
+        return byClass.get(object.getClass());
+    }
+
+    /**
+     * Get the namespaced key of an item of the given type.
+     * @param type the type of the item
+     * @param id the modern id of the item
+     */
+    static String getItemKey(Material type, String id){
+        Category cat = itemCategories[type.ordinal()];
+        if (cat == MUSIC_DISC){
+            return MUSIC_DISC.getNamespace().replace("$name", id);
+        }
+        return cat.getNamespace() + id;
+    }
+
+    private static Category resolveItemCategory(Material type){
+        if (type.isBlock() || type.toString().toLowerCase(Locale.ROOT).contains("skull")){
+            return BLOCK;
+        }
+        if (type.isRecord()){
+            return MUSIC_DISC;
+        }
+        return ITEM;
+    }
+
+    /**
+     * Get the category the key of the given object of this category belongs to.<br>
+     * ItemStacks are {@link #BLOCK}, {@link #ITEM} or {@link #MUSIC_DISC} depending on their type,
+     * the objects of the other categories belong to this category.
+     */
+    Category getKeyCategory(Object object){
+        if (this.getClazz() == ItemStack.class){
+            return itemCategories[((ItemStack) object).getType().ordinal()];
+        }
+        return this;
+    }
+
+    /**
+     * Get the constants of this category whose namespaced keys can be computed in advance.<br>
+     * The key of an ItemStack depends only on its type on modern versions, so Material constants are used for it.
+     * @return the constants indexed by their ordinal, or null if the keys cannot be computed in advance
+     */
+    @Nullable
+    Object[] getConstants(){
+        if (this.getClazz() == ItemStack.class){
+            return Comp.isLegacy() ? null : Material.values();
+        }
+        return this.getClazz().getEnumConstants();
+    }
+
+    /**
+     * Get the namespaced key of one of the {@link #getConstants()}.
+     */
+    String getConstantKey(Object constant){
+        if (this.getClazz() == ItemStack.class){
+            Material type = (Material) constant;
+            return getItemKey(type, type.toString());
+        }
+        return getNamespacedKey(constant);
+    }
+
+    /**
+     * Get the index of the given object in the {@link #getConstants()}.
+     * @return the index, or -1 if the object is not one of the constants
+     */
+    int getConstantIndex(Object object){
+        if (object instanceof ItemStack){
+            return ((ItemStack) object).getType().ordinal();
+        }
+        if (object instanceof Enum){
+            return ((Enum<?>) object).ordinal();
+        }
+        return -1;
+    }
+
+    /**
+     * Get the object identifying the translation of the given object within a batch,
+     * so the objects with equal translations are translated only once.<br>
+     * The translation of an ItemStack depends only on its type and data.
+     */
+    Object getBatchKey(Object object){
+        if (object instanceof ItemStack){
+            ItemStack item = (ItemStack) object;
+            return (item.getType().ordinal() << 16) | (item.getDurability() & 0xFFFF);
+        }
+        return object;
+    }
+
+    /**
+     * Get the namespaced key of the given potion effect type or enchantment from the {@link #registryKeys},
+     * resolving it on the first call.
+     * @return the key, or null if the object has no vanilla key
+     */
+    @Nullable
+    private static String getRegistryKey(Object object){
+        String key = registryKeys.get(object);
+        if (key == null){
+            key = resolveRegistryKey(object);
+            registryKeys.putIfAbsent(object, key);
+        }
+        return key.isEmpty() ? null : key;
+    }
+
+    private static String resolveRegistryKey(Object object){
+        if (object instanceof PotionEffectType){
+            Comp.PotionEffectType type = Comp.PotionEffectType.find(((PotionEffectType) object).getName());
+            return type == null ? UNKNOWN : POTION_EFFECT_TYPE.getNamespace() + type.getKey();
+        }
+        Comp.Enchantment enchantment = Comp.Enchantment.find(((Enchantment) object).getName());
+        return enchantment == null ? UNKNOWN : ENCHANTMENT.getNamespace() + enchantment.getKey();
+    }
+
     public static String[] getAllNamespaces() {
         return Arrays.stream(values()).map(Category::getNamespace).toArray(String[]::new);
     }
 
+    /**
+     * Get the namespaced key of the given object of this category.
+     * @return the key, or null if the object has no vanilla key (e.g. a custom enchantment)
+     */
+    @Nullable
     public String getNamespacedKey(Object object){
         if (this.isDoAdditionalChecks()){
             if (this.getClazz() == ItemStack.class){
                 ItemStack item = (ItemStack) object;
-                if (item.getType().isBlock() || item.getType().toString().toLowerCase().contains("skull")){
-                    if (Comp.isLegacy()){
-                        return Category.BLOCK.getNamespace() + Comp.getModernId(item);
-                    }
-                    return Category.BLOCK.getNamespace() + item.getType();
-                }
-                else{
-                    if (Comp.isLegacy()){
-                        if (item.getType().isRecord()){
-                            return Category.MUSIC_DISC.getNamespace().replace("$name", Comp.getModernId(item));
-                        }
-                        return Category.ITEM.getNamespace() + Comp.getModernId(item);
-                    }
-                    if (item.getType().isRecord()){
-                        return Category.MUSIC_DISC.getNamespace().replace("$name", item.getType().toString());
-                    }
-                    return Category.ITEM.getNamespace() + item.getType();
-                }
+                return getItemKey(item.getType(), Comp.isLegacy() ? Comp.getModernId(item) : item.getType().toString());
             }
             else if (this.getClazz() == Material.class){
                 Material mat = (Material) object;
                 if (Comp.isLegacy()){
                     if (mat.isBlock()){
-                        return Category.BLOCK.getNamespace() + Comp.getModernId(new ItemStack(mat));
+                        return Category.BLOCK.getNamespace() + Comp.getModernId(mat, 0);
                     }
-                    return Category.ITEM.getNamespace() + Comp.getModernId(new ItemStack(mat));
+                    return Category.ITEM.getNamespace() + Comp.getModernId(mat, 0);
                 }
                 else{
                     if (mat.isBlock()){
@@ -133,13 +286,8 @@ enum Category {
                     return Category.ITEM.getNamespace() + mat;
                 }
             }
-            else if (this.getClazz() == PotionEffectType.class){
-                Comp.PotionEffectType compPet = Comp.PotionEffectType.valueOf(((PotionEffectType) object).getName());
-                return Category.POTION_EFFECT_TYPE.getNamespace() + compPet.getKey();
-            }
-            else if (this.getClazz() == Enchantment.class){
-                Comp.Enchantment ench = Comp.Enchantment.valueOf(((Enchantment) object).getName());
-                return Category.ENCHANTMENT.getNamespace() + ench.getKey();
+            else if (this.getClazz() == PotionEffectType.class || this.getClazz() == Enchantment.class){
+                return getRegistryKey(object);
             }
         }
         return this.getNamespace() + object.toString();
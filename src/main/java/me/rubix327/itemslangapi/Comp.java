@@ -1,8 +1,11 @@
 package me.rubix327.itemslangapi;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -11,6 +14,7 @@ import java.util.stream.Collectors;
 public class Comp {
 
     private static final boolean isLegacy = defineIsLegacy();
+    private static boolean hasPlayerLocale = true;
 
     protected enum PotionEffectType {
         SPEED("speed"),
@@ -180,6 +184,13 @@ public class Comp {
          */
         DARKNESS("darkness");
 
+        private static final HashMap<String, PotionEffectType> byName = new HashMap<>();
+        static {
+            for (PotionEffectType constant : values()){
+                byName.put(constant.name(), constant);
+            }
+        }
+
         private final String key;
         PotionEffectType(String key){
             this.key = key;
@@ -188,6 +199,15 @@ public class Comp {
         public String getKey(){
             return this.key;
         }
+
+        /**
+         * Get the constant with the given name. Unlike valueOf, it does not throw an exception.
+         * @return the constant, or null if there is no such constant
+         */
+        @Nullable
+        static PotionEffectType find(@Nullable String name){
+            return name == null ? null : byName.get(name);
+        }
     }
 
     protected enum Enchantment{
@@ -385,6 +405,13 @@ public class Comp {
          */
         SWIFT_SNEAK("swift_sneak");
 
+        private static final HashMap<String, Enchantment> byName = new HashMap<>();
+        static {
+            for (Enchantment constant : values()){
+                byName.put(constant.name(), constant);
+            }
+        }
+
         private final String key;
         Enchantment(String key){
             this.key = key;
@@ -393,6 +420,31 @@ public class Comp {
         public String getKey(){
             return this.key;
         }
+
+        /**
+         * Get the constant with the given name. Unlike valueOf, it does not throw an exception.
+         * @return the constant, or null if there is no such constant
+         */
+        @Nullable
+        static Enchantment find(@Nullable String name){
+            return name == null ? null : byName.get(name);
+        }
+    }
+
+    /**
+     * Get the locale of the player, e.g. "en_us".<br>
+     * Player#getLocale() was added in MC 1.12, older versions only have Player.Spigot#getLocale().
+     */
+    @SuppressWarnings("deprecation")
+    public static String getLocale(Player player){
+        if (hasPlayerLocale){
+            try {
+                return player.getLocale();
+            } catch (NoSuchMethodError e){
+                hasPlayerLocale = false;
+            }
+        }
+        return player.spigot().getLocale();
     }
 
     public static boolean isLegacy(){
@@ -419,12 +471,17 @@ public class Comp {
     }
 
     public static String getModernId(ItemStack item){
-        HashMap<String, String> legacyToModern = ItemsLangAPI.getApi().getLegacyToModern();
-        String legacyId = (item.getType() + "-" + item.getData().getData()).toLowerCase();
+        return getModernId(item.getType(), item.getDurability() & 0xFFFF);
+    }
 
-        if (legacyToModern.containsKey(legacyId)){
-            return legacyToModern.get(legacyId);
-        }
-        return item.getType().toString();
+    /**
+     * Get the modern id of the given legacy material with the given data value.<br>
+     * The lookup does not allocate any memory.
+     * @return the modern id, or the name of the material if it has the same id in the modern versions
+     */
+    public static String getModernId(Material type, int data){
+        LegacyIds legacy = ItemsLangAPI.getApi().getLegacyIds();
+        String modernId = legacy != null ? legacy.getModernId(type, data) : null;
+        return modernId != null ? modernId : type.toString();
     }
 }
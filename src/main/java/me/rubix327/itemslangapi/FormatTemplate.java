@@ -0,0 +1,128 @@
+package me.rubix327.itemslangapi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A translation with placeholders compiled into literal and argument segments.<br>
+ * The placeholders are the ones used by the game language files:
+ * <ul>
+ * <li>%s - the next argument;</li>
+ * <li>%1$s, %2$s... - the argument with the given number (it does not move the next argument);</li>
+ * <li>%% - the percent sign.</li>
+ * </ul>
+ * Anything else (e.g. "100 %") is kept as is. The placeholders referencing missing arguments are kept as is too.
+ */
+final class FormatTemplate {
+
+    /**
+     * The literals between the placeholders. Always has one more element than {@link #args}.
+     */
+    private final String[] literals;
+    /**
+     * The index of the argument of every placeholder.
+     */
+    private final int[] args;
+    /**
+     * The original placeholder of every argument, used if the argument is missing.
+     */
+    private final String[] placeholders;
+    private final int literalsLength;
+
+    private FormatTemplate(String[] literals, int[] args, String[] placeholders){
+        this.literals = literals;
+        this.args = args;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals){
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * Compile the given translation.
+     */
+    static FormatTemplate compile(String pattern){
+        if (pattern.indexOf('%') == -1){
+            return new FormatTemplate(new String[]{pattern}, new int[0], new String[0]);
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> args = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(pattern.length());
+        int next = 0;
+        int i = 0;
+        while (i < pattern.length()){
+            char c = pattern.charAt(i);
+            if (c != '%' || i + 1 == pattern.length()){
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (pattern.charAt(i + 1) == '%'){
+                literal.append('%');
+                i += 2;
+                continue;
+            }
+            if (pattern.charAt(i + 1) == 's'){
+                literals.add(literal.toString());
+                literal.setLength(0);
+                args.add(next++);
+                placeholders.add("%s");
+                i += 2;
+                continue;
+            }
+
+            // %<number>$s
+            int end = i + 1;
+            while (end < pattern.length() && Character.isDigit(pattern.charAt(end))) end++;
+            if (end > i + 1 && end + 1 < pattern.length() && pattern.charAt(end) == '$' && pattern.charAt(end + 1) == 's'){
+                int number = parseNumber(pattern, i + 1, end);
+                if (number > 0){
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    args.add(number - 1);
+                    placeholders.add(pattern.substring(i, end + 2));
+                    i = end + 2;
+                    continue;
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+
+        int[] indexes = new int[args.size()];
+        for (int j = 0; j < indexes.length; j++){
+            indexes[j] = args.get(j);
+        }
+        return new FormatTemplate(literals.toArray(new String[0]), indexes, placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Parse the argument number, or return -1 if it is too large.
+     */
+    private static int parseNumber(String pattern, int start, int end){
+        if (end - start > 4) return -1;
+        return Integer.parseInt(pattern.substring(start, end));
+    }
+
+    /**
+     * Render the translation with the given arguments.
+     * The translation without placeholders is returned as is.
+     */
+    String format(Object[] values){
+        if (args.length == 0) return literals[0];
+        StringBuilder builder = new StringBuilder(literalsLength + args.length * 16);
+        for (int i = 0; i < args.length; i++){
+            builder.append(literals[i]);
+            int index = args[i];
+            if (values != null && index < values.length) builder.append(values[index]);
+            else builder.append(placeholders[i]);
+        }
+        return builder.append(literals[args.length]).toString();
+    }
+
+}
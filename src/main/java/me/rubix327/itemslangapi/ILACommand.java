@@ -0,0 +1,99 @@
+package me.rubix327.itemslangapi;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The /ila command.<br>
+ * /ila stats [all] - show the {@link TranslationMetrics}, the load times and the memory usage of the languages;<br>
+ * /ila stats reset - reset the {@link TranslationMetrics}.
+ */
+final class ILACommand implements CommandExecutor {
+
+    /**
+     * The amount of the most used languages shown by /ila stats.
+     */
+    private static final int TOP_LANGS = 10;
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args){
+        if (args.length == 0 || !args[0].equalsIgnoreCase("stats")){
+            sender.sendMessage(ChatColor.RED + "Usage: /" + label + " stats [all|reset]");
+            return true;
+        }
+        ItemsLangAPI api = ItemsLangAPI.getApi();
+        TranslationMetrics metrics = api.getMetrics();
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")){
+            metrics.reset();
+            sender.sendMessage(ChatColor.GOLD + "[ItemsLangApi] " + ChatColor.GRAY + "The statistics have been reset.");
+            return true;
+        }
+        boolean isAll = args.length > 1 && args[1].equalsIgnoreCase("all");
+
+        sender.sendMessage(ChatColor.GOLD + "[ItemsLangApi] " + ChatColor.GRAY + api.getLoaded().size() +
+                " language(s) loaded, ~" + api.getRetainedBytes() / 1024 + " KB in use" +
+                (api.getOffHeapBytes() > 0 ? ", " + api.getOffHeapBytes() / 1024 + " KB off-heap." : "."));
+        sender.sendMessage(ChatColor.GRAY + "Lookups: " + ChatColor.WHITE + metrics.getLookups() +
+                ChatColor.GRAY + " (" + percent(metrics.getLookups() - metrics.getMisses(), metrics.getLookups()) + " hits)");
+        if (api.getLazyLoads() > 0){
+            sender.sendMessage(ChatColor.GRAY + "Lazy loading: " + api.getLazyLoads() + " loads, " +
+                    api.getEvictions() + " evictions.");
+        }
+
+        StringBuilder categories = new StringBuilder();
+        Map<String, Long> categoryMisses = metrics.getCategoryMisses();
+        for (Map.Entry<String, Long> entry : metrics.getCategoryLookups().entrySet()){
+            if (entry.getValue() == 0) continue;
+            if (categories.length() > 0) categories.append(", ");
+            categories.append(entry.getKey().toLowerCase(Locale.ROOT)).append(' ').append(entry.getValue())
+                    .append(" (").append(percent(entry.getValue() - categoryMisses.get(entry.getKey()), entry.getValue()))
+                    .append(')');
+        }
+        if (categories.length() > 0){
+            sender.sendMessage(ChatColor.GRAY + "Categories: " + ChatColor.WHITE + categories);
+        }
+
+        List<Lang> langs = new ArrayList<>();
+        List<Lang> unused = new ArrayList<>();
+        for (Lang lang : Lang.values()){
+            if (metrics.getLookups(lang) > 0) langs.add(lang);
+            else if (api.isLoaded(lang)) unused.add(lang);
+        }
+        langs.sort((a, b) -> Long.compare(metrics.getLookups(b), metrics.getLookups(a)));
+        int shown = isAll ? langs.size() : Math.min(TOP_LANGS, langs.size());
+        for (Lang lang : langs.subList(0, shown)){
+            sender.sendMessage(ChatColor.YELLOW + lang.getCode() + ChatColor.GRAY + ": " + metrics.getLookups(lang) +
+                    " lookups, " + percent(metrics.getHits(lang), metrics.getLookups(lang)) + " hits, " +
+                    metrics.getDefaultFallbacks(lang) + " from default" + describeLoaded(api, lang));
+        }
+        if (shown < langs.size()){
+            sender.sendMessage(ChatColor.GRAY + "... and " + (langs.size() - shown) + " more, see /" + label + " stats all");
+        }
+        if (!unused.isEmpty()){
+            List<String> codes = new ArrayList<>();
+            for (Lang lang : unused){
+                codes.add(lang.getCode());
+            }
+            sender.sendMessage(ChatColor.GRAY + "Loaded but not used: " + ChatColor.WHITE + String.join(", ", codes));
+        }
+        return true;
+    }
+
+    private static String describeLoaded(ItemsLangAPI api, Lang lang){
+        if (!api.isLoaded(lang)) return ", not loaded";
+        return String.format(Locale.ROOT, ", loaded in %.1f ms, ~%d KB", api.getLoadTime(lang), api.getRetainedBytes(lang) / 1024);
+    }
+
+    private static String percent(long part, long total){
+        if (total == 0) return "0%";
+        return String.format(Locale.ROOT, "%.1f%%", 100.0 * part / total);
+    }
+
+}
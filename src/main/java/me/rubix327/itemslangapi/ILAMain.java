@@ -1,11 +1,30 @@
 package me.rubix327.itemslangapi;
 
+import org.bukkit.command.PluginCommand;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+
 public class ILAMain extends JavaPlugin {
 
     @Override
     public void onEnable() {
         super.onEnable();
+        ItemsLangAPI api = ItemsLangAPI.getApi();
+        api.enablePlayerCache(this);
+        PluginCommand command = getCommand("ila");
+        if (command != null){
+            command.setExecutor(new ILACommand());
+        }
+        api.setOverrideFolder(new File(getDataFolder(), "lang"));
+        // getApi() has already loaded the default language without the overrides
+        api.reload(api.getLoaded().toArray(new Lang[0]));
+        api.watchOverrides();
+    }
+
+    @Override
+    public void onDisable() {
+        super.onDisable();
+        ItemsLangAPI.getApi().stopWatchingOverrides();
     }
 }
@@ -1,15 +1,38 @@
 package me.rubix327.itemslangapi;
 
 import org.bukkit.Bukkit;
-import org.bukkit.configuration.InvalidConfigurationException;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
 
 import javax.annotation.Nullable;
-import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
 /**
  * When using {@link #translate(Object object, Lang lang)} <b>[Lang!]</b> and its modifications,
@@ -17,8 +40,10 @@ import java.util.HashMap;
  * <ul>
  * <li> if the given object in [{@link #translate(Object object, Lang lang)}] is not translatable;</li>
  * <li> if the namespaced key in [{@link #translateExact(String namespacedKey, Lang lang)}] does not exist;</li>
- * <li> if no matches found while parsing the key in [{@link #translateAnything(String key, Lang lang)}].</li>
+ * <li> if no matches found while parsing the key in [{@link #translateAnything(String key, Lang lang)}];</li>
+ * <li> if the given language is not loaded (unless lazy loading is enabled, see {@link #setLazyLoading(int, long)}).</li>
  * </ul>
+ * If the language is being loaded by {@link #loadAsync(Lang...)} at the moment, the {@link #defaultLang} is used instead.<br>
  * When using {@link #translate(Object, String)} <b>[String!]</b> and its modifications, if you pass a non-existent
  * language as a [String lang], the {@link #defaultLang} will be used.
  * You can set the default language by {@link #setDefault(Lang)}.
@@ -27,36 +52,127 @@ public class ItemsLangAPI {
 
     private static final ItemsLangAPI instance = new ItemsLangAPI();
     private static final String prefix = "[ItemsLangApi] ";
+    /**
+     * The keys shared by all the override files, so each key is kept in memory only once.
+     * The {@link LangPack} shares its keys (and the values used by more than one language) by itself.
+     */
+    private static final StringPool keyPool = new StringPool();
 
     /**
      * The warning message sent when trying to translate a message to a non-existent Lang.
      */
     private final String warning = prefix + "Some plugin is trying to translate an object to a non-existent language ($lang). " +
-            "Object is now translated into English (en_us).";
+            "Object is now translated into the default language ($default).";
+    /**
+     * How often the {@link #warning} can be sent for the same language.
+     */
+    private static final long warningInterval = TimeUnit.MINUTES.toNanos(10);
+    /**
+     * The maximum amount of different non-existent languages to send the {@link #warning} about.
+     */
+    private static final int maxWarnedLangs = 256;
+    /**
+     * The non-existent languages and the last time the {@link #warning} was sent for them.
+     */
+    private final ConcurrentHashMap<String, Long> warnedLangs = new ConcurrentHashMap<>();
     /**
      * Should we hide the {@link #warning}?
      */
-    private boolean isHideWarnings = false;
+    private volatile boolean isHideWarnings = false;
     /**
      * The Lang to which a message will be translated if the first try is failed.
      */
-    private Lang defaultLang = Lang.EN_US;
+    private volatile Lang defaultLang = Lang.EN_US;
     /**
-     * The path to a single language file.
+     * All the loaded namespacedKeys and their translations, and the legacy ids table.<br>
+     * The store is never modified after it is assigned: loading and unloading build a new one
+     * and replace the reference (under the lock of the API), so it can be read from any thread without locking.
+     * The translate methods read the reference only once per call.
      */
-    private final String langPath = "/lang/$file.json";
+    private volatile LangStore store;
     /**
-     * The map containing all the loaded namespacedKeys and their translations.
-     * Format:<br>
-     * Lang : {key : translation}<br>
-     * EN : {item.minecraft.clock : "Clock"}
+     * The languages being loaded by {@link #loadAsync(Lang...)} at the moment.
+     * Until they are ready, the {@link #defaultLang} is used for them.
+     */
+    private final Set<Lang> pending = ConcurrentHashMap.newKeySet();
+    /**
+     * The languages of the online players. Used only if {@link #isPlayerCacheEnabled}.
+     */
+    private final ConcurrentHashMap<UUID, Lang> playerLangs = new ConcurrentHashMap<>();
+    private volatile boolean isPlayerCacheEnabled = false;
+    /**
+     * The time in nanoseconds spent on reading each language file during the last load.
+     */
+    private final EnumMap<Lang, Long> loadTimes = new EnumMap<>(Lang.class);
+    /**
+     * The approximate amount of heap in bytes retained by each loaded language.
+     */
+    private final EnumMap<Lang, Long> retainedBytes = new EnumMap<>(Lang.class);
+    /**
+     * Only the keys starting with these prefixes are kept while loading a language file.<br>
+     * If null, all the keys are kept.
+     */
+    private volatile String[] keyPrefixes = null;
+    /**
+     * The executor used to parse the language files. If null, a temporary pool is used.
+     */
+    private volatile Executor loadExecutor = null;
+    /**
+     * The languages to take the missing translations from, in the order of priority.
+     * Replaced as a whole on every change.
+     */
+    private volatile EnumMap<Lang, Lang[]> fallbacks = new EnumMap<>(Lang.class);
+    /**
+     * Should the {@link #defaultLang} be used as the last fallback language of every language?
+     */
+    private volatile boolean isFallbackToDefault = false;
+    /**
+     * The folder with the server-side language files overriding the bundled ones, or null.
+     */
+    private volatile File overrideFolder = null;
+    private OverrideWatcher overrideWatcher = null;
+    /**
+     * Should the languages that are not loaded be loaded on the first translation to them?
+     */
+    private volatile boolean isLazyLoading = false;
+    /**
+     * The maximum amount of lazily loaded languages kept in memory. 0 means no limit.
+     */
+    private int lazyMaxLangs = 0;
+    /**
+     * The maximum amount of heap in bytes used by lazily loaded languages. 0 means no limit.
+     */
+    private long lazyMaxBytes = 0;
+    /**
+     * The languages loaded on demand. Only they can be evicted,
+     * the languages loaded explicitly stay in memory until they are unloaded.
+     */
+    private final Set<Lang> lazyLoaded = EnumSet.noneOf(Lang.class);
+    /**
+     * The on-demand loads in progress. Concurrent translations to the same language wait for the same load.
+     */
+    private final ConcurrentHashMap<Lang, CompletableFuture<LangTable>> lazyLoads = new ConcurrentHashMap<>();
+    /**
+     * The time of the last translation to each language, indexed by {@link Lang#ordinal()}.
+     */
+    private final AtomicLongArray lastAccess = new AtomicLongArray(Lang.values().length);
+    private final LongAdder lazyHits = new LongAdder();
+    private final LongAdder lazyMisses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final TranslationMetrics metrics = new TranslationMetrics();
+    /**
+     * Is the {@link #defaultLang} already loaded into the {@link #store}?<br>
+     * Reset when the default language is changed by {@link #setDefault(Lang)}.
+     */
+    private volatile boolean isDefaultLoaded = false;
+    /**
+     * Should the languages be kept outside of the heap (see {@link OffHeapTable})?
      */
-    private final HashMap<Lang, HashMap<String, String>> map = new HashMap<>();
+    private boolean isOffHeap = false;
     /**
-     * The map containing legacy ids and their correspondent modern names.<br>
-     * Example: 35:1 -> orange_wool
+     * The number of decoded translations of every off-heap language kept on the heap.
      */
-    private final HashMap<String, String> legacyToModern = new HashMap<>();
+    private int offHeapCacheSize = 0;
 
     /**
      * Get the plugin API.
@@ -64,11 +180,15 @@ public class ItemsLangAPI {
      * Please see {@link ItemsLangAPI} before getting started.
      */
     public static ItemsLangAPI getApi(){
-        instance.loadOne(instance.langPath.replace("$file", instance.defaultLang.toString().toLowerCase()));
+        if (!instance.isDefaultLoaded){
+            instance.loadDefault();
+        }
         return instance;
     }
 
-    private ItemsLangAPI(){ }
+    private ItemsLangAPI(){
+        this.store = new LangStore(new KeyIndex(LangPack.get().getKeys()));
+    }
 
     /**
      * Load all the 123 languages available in the game.<br>
@@ -77,57 +197,756 @@ public class ItemsLangAPI {
      * otherwise your RAM would be littered with unused data.
      */
     public void loadAll(){
+        long before = getUsedHeap();
         load(Lang.values());
+        Bukkit.getLogger().info(prefix + "Heap in use before loading all the languages: " + before / 1048576 +
+                " MB, after: " + getUsedHeap() / 1048576 + " MB.");
+    }
+
+    private static long getUsedHeap(){
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
     }
 
     /**
-     * Load the specified languages.
+     * Load the specified languages.<br>
+     * Languages that are already loaded are skipped, so calling this method multiple times is cheap.<br>
+     * The files are parsed in parallel (see {@link #setLoadExecutor(Executor)}), and the languages
+     * become available only after all of them are ready. The other methods of the API are not blocked while parsing.
      */
     public void load(Lang... langs) {
         Bukkit.getLogger().info(prefix + "Loading language files...");
-        int counter = 0;
+        long start = System.nanoTime();
+        List<Lang> toLoad = new ArrayList<>();
+        int skipped = 0;
+        synchronized (this){
+            loadLegacy();
+            for (Lang lang : langs){
+                if (store.isLoaded(lang) || toLoad.contains(lang)){
+                    lazyLoaded.remove(lang);
+                    skipped++;
+                    continue;
+                }
+                toLoad.add(lang);
+            }
+        }
+        List<LoadedLang> parsed = parse(toLoad, true).join();
+        synchronized (this){
+            // Another thread could load some of the languages while parsing, its translations are kept
+            List<LoadedLang> loaded = new ArrayList<>(parsed.size());
+            for (LoadedLang lang : parsed){
+                if (lang.isFallbackOnly || !store.isLoaded(lang.lang)) loaded.add(lang);
+            }
+            publish(loaded);
+        }
+        Bukkit.getLogger().info(prefix + "Loaded " +  toLoad.size() + " language file(s) successfully in " +
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms, " +
+                "~" + getRetainedBytes() / 1024 + " KB in use" +
+                (skipped > 0 ? " (" + skipped + " already loaded)." : "."));
+    }
+
+    /**
+     * Load the specified languages without blocking the current thread.<br>
+     * Languages that are already loaded or being loaded are skipped.
+     * Until a language is ready, all the translations to it are made to the {@link #defaultLang}.
+     * @return the future completed when all the languages are ready
+     */
+    public CompletableFuture<Void> loadAsync(Lang... langs){
+        List<Lang> toLoad = new ArrayList<>();
+        synchronized (this){
+            loadLegacy();
+            for (Lang lang : langs){
+                if (store.isLoaded(lang) || !pending.add(lang)) continue;
+                toLoad.add(lang);
+            }
+        }
+        if (toLoad.isEmpty()){
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long start = System.nanoTime();
+        return parse(toLoad, false).handle((loaded, e) -> {
+            if (loaded != null){
+                publish(loaded);
+            }
+            pending.removeAll(toLoad);
+            if (e != null){
+                Bukkit.getLogger().warning(prefix + "Could not load language files: " + e.getMessage());
+                throw new CompletionException(e);
+            }
+            Bukkit.getLogger().info(prefix + "Loaded " + loaded.size() + " language file(s) asynchronously in " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+            return null;
+        });
+    }
+
+    /**
+     * Load the specified languages without blocking the current thread
+     * and run the callback on the main server thread when they are ready.<br>
+     * See {@link #loadAsync(Lang...)}.
+     * @param plugin the plugin owning the callback task
+     * @param callback the callback to run on the main thread
+     * @return the future completed when all the languages are ready
+     */
+    public CompletableFuture<Void> loadAsync(Plugin plugin, Runnable callback, Lang... langs){
+        return loadAsync(langs).thenRun(() -> Bukkit.getScheduler().runTask(plugin, callback));
+    }
+
+    /**
+     * Check if the given language is being loaded by {@link #loadAsync(Lang...)} at the moment.
+     * @param lang the language
+     * @return true if the language is being loaded
+     */
+    public boolean isLoading(Lang lang){
+        return pending.contains(lang);
+    }
+
+    /**
+     * Load the languages on demand: the first translation to a language that is not loaded
+     * loads it (other threads translating to the same language wait for this load).<br>
+     * At most the given amount of languages loaded this way is kept in memory,
+     * the least recently used ones are unloaded when the limit is exceeded.
+     * The languages loaded by {@link #load(Lang...)} are never unloaded automatically.
+     * @param maxLangs the maximum amount of languages loaded on demand, or 0 for no limit
+     * @param maxBytes the maximum amount of heap used by languages loaded on demand
+     *                 (see {@link #getRetainedBytes(Lang)}), or 0 for no limit
+     */
+    public synchronized void setLazyLoading(int maxLangs, long maxBytes){
+        this.lazyMaxLangs = Math.max(0, maxLangs);
+        this.lazyMaxBytes = Math.max(0, maxBytes);
+        this.isLazyLoading = true;
+        evict();
+    }
+
+    /**
+     * Disable loading the languages on demand. Already loaded languages stay in memory.
+     */
+    public synchronized void disableLazyLoading(){
+        this.isLazyLoading = false;
+        this.lazyLoaded.clear();
+    }
+
+    /**
+     * Get the amount of translations to already loaded languages since lazy loading was enabled.
+     */
+    public long getLazyHits(){
+        return lazyHits.sum();
+    }
+
+    /**
+     * Get the amount of languages loaded on demand.
+     */
+    public long getLazyLoads(){
+        return lazyMisses.sum();
+    }
+
+    /**
+     * Get the amount of languages unloaded to stay within the lazy loading limits.
+     */
+    public long getEvictions(){
+        return evictions.sum();
+    }
+
+    /**
+     * Load the given language on demand. If it is being loaded by another thread, wait for that load.
+     * @return the translations of the language
+     */
+    private LangTable loadLazily(Lang lang){
+        CompletableFuture<LangTable> future = new CompletableFuture<>();
+        CompletableFuture<LangTable> existing = lazyLoads.putIfAbsent(lang, future);
+        if (existing != null){
+            return existing.join();
+        }
+
+        try {
+            LangTable table = store.getTable(lang);
+            if (table == null){
+                List<LoadedLang> loaded = parse(Collections.singletonList(lang), true).join();
+                synchronized (this){
+                    publish(loaded);
+                    table = store.getTable(lang);
+                    lazyLoaded.add(lang);
+                    lastAccess.set(lang.ordinal(), System.nanoTime());
+                    lazyMisses.increment();
+                    evict();
+                }
+            }
+            future.complete(table);
+            return table;
+        } catch (RuntimeException e){
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            lazyLoads.remove(lang, future);
+        }
+    }
+
+    /**
+     * Unload the least recently used languages loaded on demand while the limits are exceeded.
+     */
+    private synchronized void evict(){
+        while (!lazyLoaded.isEmpty() && isLazyLimitExceeded()){
+            Lang eldest = null;
+            for (Lang lang : lazyLoaded){
+                if (lang == defaultLang) continue;
+                if (eldest == null || lastAccess.get(lang.ordinal()) < lastAccess.get(eldest.ordinal())){
+                    eldest = lang;
+                }
+            }
+            if (eldest == null) return;
+            unload(eldest);
+            evictions.increment();
+        }
+    }
+
+    private boolean isLazyLimitExceeded(){
+        if (lazyMaxLangs > 0 && lazyLoaded.size() > lazyMaxLangs) return true;
+        if (lazyMaxBytes <= 0) return false;
+        long bytes = 0;
+        for (Lang lang : lazyLoaded){
+            bytes += retainedBytes.getOrDefault(lang, 0L);
+        }
+        return bytes > lazyMaxBytes;
+    }
+
+    /**
+     * Set the languages to take the missing translations of the given language from, in the order of priority.<br>
+     * For example, after setFallback(Lang.ES_MX, Lang.ES_ES, Lang.EN_US) the keys missing in ES_MX
+     * are taken from ES_ES, and the keys missing in both of them are taken from EN_US.<br>
+     * The chain is resolved once when the language is loaded (the fallback languages are read
+     * for this purpose if they are not loaded), so the translations are not getting slower.
+     * See {@link #getSource(String, Lang)} to find out where a translation came from.<br>
+     * Affects only the languages loaded after this call.
+     * @param lang the language
+     * @param chain the fallback languages. Pass nothing to remove the chain.
+     */
+    public synchronized void setFallback(Lang lang, Lang... chain){
+        Set<Lang> unique = new LinkedHashSet<>(Arrays.asList(chain));
+        unique.remove(lang);
+        EnumMap<Lang, Lang[]> copy = new EnumMap<>(fallbacks);
+        if (unique.isEmpty()){
+            copy.remove(lang);
+        }
+        else{
+            copy.put(lang, unique.toArray(new Lang[0]));
+        }
+        this.fallbacks = copy;
+    }
+
+    /**
+     * Take the translations missing in every language from the {@link #defaultLang}.<br>
+     * The default language is added to the end of the chains set by {@link #setFallback(Lang, Lang...)}.<br>
+     * Affects only the languages loaded after this call.
+     * @param fallbackToDefault true to fall back to the default language, false to return null for the missing keys
+     */
+    public synchronized void setFallbackToDefault(boolean fallbackToDefault){
+        this.isFallbackToDefault = fallbackToDefault;
+    }
+
+    /**
+     * Get the fallback languages of the given language, in the order of priority.
+     */
+    private Lang[] getFallbackChain(Lang lang){
+        Lang[] chain = fallbacks.get(lang);
+        if (chain == null) chain = new Lang[0];
+        Lang defaultLang = this.defaultLang;
+        if (!isFallbackToDefault || lang == defaultLang || Arrays.asList(chain).contains(defaultLang)) return chain;
+        Lang[] extended = Arrays.copyOf(chain, chain.length + 1);
+        extended[chain.length] = defaultLang;
+        return extended;
+    }
+
+    /**
+     * Get the fallback languages of the given languages that are neither loaded nor among the given languages.
+     */
+    private List<Lang> getUnloadedFallbacks(List<Lang> langs){
+        List<Lang> result = new ArrayList<>();
+        LangStore store = this.store;
         for (Lang lang : langs){
-            map.put(lang, loadOne(langPath.replace("$file", lang.toString().toLowerCase())));
-            counter++;
+            for (Lang fallback : getFallbackChain(lang)){
+                if (store.isLoaded(fallback) || langs.contains(fallback) || result.contains(fallback)) continue;
+                result.add(fallback);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Set the executor used to parse the language files in parallel.<br>
+     * By default (or if null is passed), a temporary {@link ForkJoinPool} bounded by
+     * the number of available processors is created for every load.
+     * @param executor the executor
+     */
+    public synchronized void setLoadExecutor(@Nullable Executor executor){
+        this.loadExecutor = executor;
+    }
+
+    /**
+     * Parse the given languages in parallel.
+     * @param allowInline can a single language be parsed on the current thread?
+     * @return the future completed when all the languages are parsed
+     */
+    private CompletableFuture<List<LoadedLang>> parse(List<Lang> langs, boolean allowInline){
+        if (langs.isEmpty()){
+            return CompletableFuture.completedFuture(Collections.emptyList());
         }
-        if (Comp.isLegacy()){
-            legacyToModern.putAll(loadOne("/legacy.yml"));
+        String[] prefixes = this.keyPrefixes;
+        List<Lang> fallbacks = getUnloadedFallbacks(langs);
+        if (langs.size() == 1 && fallbacks.isEmpty() && allowInline){
+            return CompletableFuture.completedFuture(Collections.singletonList(loadOne(langs.get(0), prefixes, false)));
         }
-        Bukkit.getLogger().info(prefix + "Loaded " +  counter + " language file(s) successfully.");
+
+        Executor executor = this.loadExecutor;
+        ForkJoinPool pool = null;
+        if (executor == null){
+            pool = new ForkJoinPool(Math.max(1, Math.min(langs.size(), Runtime.getRuntime().availableProcessors())));
+            executor = pool;
+        }
+
+        List<CompletableFuture<LoadedLang>> futures = new ArrayList<>(langs.size() + fallbacks.size());
+        for (Lang lang : langs){
+            futures.add(CompletableFuture.supplyAsync(() -> loadOne(lang, prefixes, false), executor));
+        }
+        for (Lang lang : fallbacks){
+            futures.add(CompletableFuture.supplyAsync(() -> loadOne(lang, prefixes, true), executor));
+        }
+        CompletableFuture<List<LoadedLang>> result = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+
+        if (pool != null){
+            ForkJoinPool finalPool = pool;
+            result.whenComplete((list, e) -> finalPool.shutdown());
+        }
+        return result;
     }
 
     /**
-     * Load a single file.
+     * Reload the given languages from the language files and the override files (see {@link #setOverrideFolder(File)}).<br>
+     * Only the given languages are parsed again. The languages that are not loaded are skipped.
+     * The loaded languages having one of them in their fallback chains (see {@link #setFallback(Lang, Lang...)})
+     * take the new translations too, without parsing their own files.
+     * Until the new translations are ready, the old ones are used.
      */
-    private HashMap<String, String> loadOne(String path) {
-        InputStream file = getClass().getResourceAsStream(path);
-        YamlConfiguration config = new YamlConfiguration();
-        HashMap<String, String> items = new HashMap<>();
-        BufferedReader reader;
+    public void reload(Lang... langs){
+        List<Lang> toReload = new ArrayList<>();
+        synchronized (this){
+            for (Lang lang : langs){
+                if (store.isLoaded(lang) && !toReload.contains(lang)) toReload.add(lang);
+            }
+        }
+        if (toReload.isEmpty()) return;
+
+        long start = System.nanoTime();
+        List<LoadedLang> parsed = parse(toReload, true).join();
+        int dependents = 0;
+        synchronized (this){
+            List<LoadedLang> loaded = new ArrayList<>(parsed.size());
+            for (LoadedLang lang : parsed){
+                // Skip the languages unloaded by another thread while parsing
+                if (lang.isFallbackOnly || store.isLoaded(lang.lang)) loaded.add(lang);
+            }
+            for (Lang lang : store.getLoaded()){
+                if (toReload.contains(lang) || Collections.disjoint(Arrays.asList(getFallbackChain(lang)), toReload)) continue;
+                loaded.add(getLoadedOwn(lang));
+                dependents++;
+            }
+            publish(loaded);
+        }
+        Bukkit.getLogger().info(prefix + "Reloaded " + toReload.size() + " language file(s)" +
+                (dependents > 0 ? " and " + dependents + " language(s) falling back to them" : "") + " in " +
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+    }
+
+    /**
+     * Get the own translations of the given loaded language (without the fallback ones),
+     * so its fallback chain can be resolved again by {@link #publish(List)}.
+     */
+    private LoadedLang getLoadedOwn(Lang lang){
+        String[] values = store.getOwnTable(lang);
+        return new LoadedLang(lang, values, null, loadTimes.getOrDefault(lang, 0L),
+                estimateSize(Arrays.asList(values)), false);
+    }
+
+    /**
+     * Set the folder containing the language files that override the bundled translations.<br>
+     * The files are named and formatted like the bundled ones (exactly the language code, e.g. <i>en_us.json</i>),
+     * but contain only the keys to change or to add, e.g. {"item.minecraft.diamond": "Shiny gem"}.<br>
+     * Affects only the languages loaded after this call. Use {@link #reload(Lang...)} to apply it to the loaded ones.
+     * @param folder the folder, or null to disable the overrides
+     */
+    public synchronized void setOverrideFolder(@Nullable File folder){
+        stopWatchingOverrides();
+        this.overrideFolder = folder;
+    }
+
+    /**
+     * Reload the languages when their override files are created, changed or deleted,
+     * so the changes are applied without restarting the server. Only the changed languages are reloaded.
+     * @return true if the folder is being watched
+     */
+    public synchronized boolean watchOverrides(){
+        if (overrideWatcher != null) return true;
+        File folder = this.overrideFolder;
+        if (folder == null) return false;
+        if (!folder.isDirectory() && !folder.mkdirs()){
+            Bukkit.getLogger().warning(prefix + "Could not create " + folder);
+            return false;
+        }
+        try {
+            overrideWatcher = new OverrideWatcher(this, folder);
+        } catch (IOException e){
+            Bukkit.getLogger().warning(prefix + "Could not watch " + folder + ": " + e.getMessage());
+            return false;
+        }
+        overrideWatcher.start();
+        return true;
+    }
+
+    /**
+     * Stop watching the override files. See {@link #watchOverrides()}.
+     */
+    public synchronized void stopWatchingOverrides(){
+        if (overrideWatcher == null) return;
+        overrideWatcher.stop();
+        overrideWatcher = null;
+    }
+
+    /**
+     * Make the parsed languages available for translations all at once.
+     * The fallback chains of the languages are resolved into their tables here.
+     */
+    private synchronized void publish(List<LoadedLang> loaded){
+        if (loaded.isEmpty()) return;
+        KeyIndex keys = store.getKeys();
+        for (LoadedLang lang : loaded){
+            if (lang.overrides != null) keys = keys.withKeys(lang.overrides.keySet());
+        }
+
+        EnumMap<Lang, String[]> own = new EnumMap<>(Lang.class);
+        for (LoadedLang lang : loaded){
+            String[] table = lang.values;
+            if (lang.overrides != null){
+                if (table.length < keys.size()) table = Arrays.copyOf(table, keys.size());
+                for (Map.Entry<String, String> entry : lang.overrides.entrySet()){
+                    table[keys.getId(entry.getKey())] = entry.getValue();
+                }
+            }
+            own.put(lang.lang, table);
+        }
 
-        if (file == null){
-            Bukkit.getLogger().warning(prefix + "File " + path + " does not exist in jar file.");
-            return items;
+        EnumMap<Lang, LangTable> tables = new EnumMap<>(Lang.class);
+        EnumMap<Lang, byte[]> sources = new EnumMap<>(Lang.class);
+        for (LoadedLang lang : loaded){
+            if (lang.isFallbackOnly) continue;
+            String[] table = own.get(lang.lang);
+            long bytes = lang.bytes;
+            Lang[] chain = getFallbackChain(lang.lang);
+            if (chain.length > 0){
+                // The fallback languages may have keys unknown to this one (e.g. added by their override files)
+                table = Arrays.copyOf(table, keys.size());
+                byte[] source = new byte[table.length];
+                int counter = fillFromFallbacks(table, source, chain, own);
+                if (counter > 0){
+                    sources.put(lang.lang, source);
+                    bytes += 16 + source.length;
+                }
+            }
+            OffHeapTable offHeap = isOffHeap ? toOffHeap(lang.lang, table) : null;
+            if (offHeap != null){
+                tables.put(lang.lang, offHeap);
+                bytes = offHeap.getHeapBytes() + (sources.containsKey(lang.lang) ? 16 + table.length : 0);
+            }
+            else{
+                tables.put(lang.lang, LangTable.of(table));
+            }
+            loadTimes.put(lang.lang, lang.nanos);
+            retainedBytes.put(lang.lang, bytes);
         }
+        store = store.with(keys, tables, sources);
+    }
 
-        reader = new BufferedReader(new InputStreamReader(file));
+    /**
+     * Fill the missing translations of the table from the fallback languages.
+     * @param table the table to fill
+     * @param source the array to record the source language of every filled translation to (see {@link LangStore})
+     * @param chain the fallback languages, in the order of priority
+     * @param parsed the own tables of the languages parsed along with the table
+     * @return the number of filled translations
+     */
+    private int fillFromFallbacks(String[] table, byte[] source, Lang[] chain, Map<Lang, String[]> parsed){
+        int counter = 0;
+        for (Lang fallback : chain){
+            String[] from = parsed.get(fallback);
+            if (from == null) from = store.getOwnTable(fallback);
+            if (from == null) continue;
+            int length = Math.min(table.length, from.length);
+            for (int i = 0; i < length; i++){
+                if (table[i] != null || from[i] == null) continue;
+                table[i] = from[i];
+                source[i] = (byte) (fallback.ordinal() + 1);
+                counter++;
+            }
+        }
+        return counter;
+    }
 
+    /**
+     * Move the translations of the given language outside of the heap.
+     * @return the off-heap table, or null if it cannot be created (the language stays on the heap then)
+     */
+    @Nullable
+    private OffHeapTable toOffHeap(Lang lang, String[] table){
         try {
-            config.load(reader);
-        } catch (InvalidConfigurationException | IOException e) {
-            e.printStackTrace();
+            return OffHeapTable.create(lang.getCode(), table, offHeapCacheSize);
+        } catch (IOException e){
+            Bukkit.getLogger().warning(prefix + "Could not move " + lang + " off the heap: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Unload the specified languages and free the memory they are using.<br>
+     * The {@link #defaultLang} cannot be unloaded, because it is used as a fallback.
+     */
+    public synchronized void unload(Lang... langs){
+        List<Lang> removed = new ArrayList<>();
+        for (Lang lang : langs){
+            if (lang == defaultLang){
+                Bukkit.getLogger().warning(prefix + "The default language (" + lang + ") cannot be unloaded.");
+                continue;
+            }
+            removed.add(lang);
+            lazyLoaded.remove(lang);
+        }
+        store = store.without(removed);
+    }
+
+    /**
+     * Check if the given language is loaded and ready for translations.
+     * @param lang the language
+     * @return true if the language is loaded
+     */
+    public boolean isLoaded(Lang lang){
+        return store.isLoaded(lang);
+    }
+
+    /**
+     * Get all the currently loaded languages.
+     * @return the unmodifiable set of languages
+     */
+    public Set<Lang> getLoaded(){
+        return store.getLoaded();
+    }
+
+    /**
+     * Get the time spent on reading the file of the given language during its last load.
+     * @param lang the language
+     * @return the time in milliseconds, or -1 if the language has never been loaded
+     */
+    public synchronized double getLoadTime(Lang lang){
+        Long nanos = loadTimes.get(lang);
+        if (nanos == null) return -1;
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Get the approximate amount of heap retained by all the loaded languages.
+     * @return the amount of bytes
+     */
+    public synchronized long getRetainedBytes(){
+        long bytes = 0;
+        for (Lang lang : store.getLoaded()){
+            bytes += retainedBytes.getOrDefault(lang, 0L);
+        }
+        return bytes;
+    }
+
+    /**
+     * Get the number of keys kept in memory for the given language.
+     * @param lang the language
+     * @return the number of keys, or 0 if the language is not loaded
+     */
+    public int getKeyCount(Lang lang){
+        LangTable table = store.getTable(lang);
+        if (table == null) return 0;
+        int counter = 0;
+        for (int i = 0; i < table.length(); i++){
+            if (table.contains(i)) counter++;
+        }
+        return counter;
+    }
+
+    /**
+     * Get the approximate amount of heap retained by the translations of the given language.
+     * @param lang the language
+     * @return the amount of bytes, or 0 if the language is not loaded
+     */
+    public synchronized long getRetainedBytes(Lang lang){
+        if (!store.isLoaded(lang)) return 0;
+        return retainedBytes.getOrDefault(lang, 0L);
+    }
+
+    /**
+     * Keep only the keys reachable through the translate methods, i.e. the keys
+     * belonging to the namespaces defined in {@link Category}.<br>
+     * Other keys (options, narrator, advancements, etc.) are skipped while parsing,
+     * so the loaded languages take only a fraction of the memory.
+     * {@link #translateExact(String, Lang)} returns null for the skipped keys.<br>
+     * Affects only the languages loaded after this call.
+     */
+    public synchronized void setCategoryFilter(){
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String namespace : Category.getAllNamespaces()){
+            int variable = namespace.indexOf('$');
+            prefixes.add(variable == -1 ? namespace : namespace.substring(0, variable));
         }
+        this.keyPrefixes = prefixes.toArray(new String[0]);
+    }
+
+    /**
+     * Keep only the keys starting with one of the given prefixes (e.g. "item.minecraft.").<br>
+     * Affects only the languages loaded after this call.
+     * @param prefixes the allowed prefixes
+     */
+    public synchronized void setKeyFilter(String... prefixes){
+        this.keyPrefixes = prefixes.clone();
+    }
+
+    /**
+     * Keep all the keys of the language files. This is the default behaviour.<br>
+     * Affects only the languages loaded after this call.
+     */
+    public synchronized void clearKeyFilter(){
+        this.keyPrefixes = null;
+    }
+
+    /**
+     * Keep the translations outside of the heap, in memory-mapped temporary files.<br>
+     * It is intended for {@link #loadAll()} on large servers: all the languages stay available,
+     * while the heap (and so the garbage collector) holds only the key index and the caches.
+     * A translation is read from the file and decoded on every call, except the recently translated keys
+     * kept in the cache of the language, so it is slower than on the heap and may allocate memory.<br>
+     * Affects only the languages loaded after this call.
+     * Example: setOffHeap(256) followed by loadAll()
+     * @param cacheSize the number of recently translated keys of every language kept on the heap,
+     *                  or 0 to disable the cache
+     */
+    public synchronized void setOffHeap(int cacheSize){
+        this.offHeapCacheSize = Math.max(0, cacheSize);
+        this.isOffHeap = true;
+    }
 
-        for (String key : config.getKeys(true)) {
-            String value = config.getString(key);
+    /**
+     * Keep the translations on the heap. This is the default behaviour.<br>
+     * Affects only the languages loaded after this call.
+     */
+    public synchronized void disableOffHeap(){
+        this.isOffHeap = false;
+    }
 
-            if (value == null) continue;
-            if (value.startsWith("MemorySection")) continue;
+    /**
+     * Get the amount of memory outside of the heap used by the loaded languages (see {@link #setOffHeap(int)}).
+     * @return the amount of bytes
+     */
+    public long getOffHeapBytes(){
+        LangStore store = this.store;
+        long bytes = 0;
+        for (Lang lang : store.getLoaded()){
+            LangTable table = store.getTable(lang);
+            if (table instanceof OffHeapTable) bytes += ((OffHeapTable) table).getOffHeapBytes();
+        }
+        return bytes;
+    }
 
-            items.put(key, value);
+    /**
+     * Load the {@link #defaultLang} if it is not loaded yet.
+     */
+    private synchronized void loadDefault(){
+        if (isDefaultLoaded) return;
+        if (!store.isLoaded(defaultLang)){
+            publish(parse(Collections.singletonList(defaultLang), true).join());
         }
+        loadLegacy();
+        isDefaultLoaded = true;
+    }
+
+    /**
+     * Load the legacy ids table (see {@link #getLegacyToModern()}) if the server is legacy and the table is not loaded yet.
+     */
+    private synchronized void loadLegacy(){
+        if (store.getLegacy() != null || !Comp.isLegacy()) return;
+        store = store.withLegacy(new LegacyIds(new HashMap<>(LangPack.get().getLegacy())));
+    }
 
-        return items;
+    /**
+     * Get the name of the override file of the given language (e.g. <i>en_us.json</i>).
+     * Only the files with exactly this name are read, see {@link #setOverrideFolder(File)}.
+     */
+    static String getOverrideFileName(Lang lang){
+        return lang.getCode() + ".json";
+    }
+
+    /**
+     * Load a single language from the precompiled {@link LangPack}.<br>
+     * This method does not change the state of the API, so it can be called from any thread.
+     * @param prefixes see {@link #keyPrefixes}
+     * @param isFallbackOnly is the language loaded only to resolve the fallback chain of another language?
+     */
+    private LoadedLang loadOne(Lang lang, String[] prefixes, boolean isFallbackOnly) {
+        long start = System.nanoTime();
+        LangPack pack = LangPack.get();
+        String[] values = new String[pack.getKeys().length];
+        try {
+            pack.readTable(lang, values, prefixes);
+        } catch (IOException e){
+            Bukkit.getLogger().warning(prefix + "Could not read " + lang + " from the language pack: " + e.getMessage());
+        }
+        HashMap<String, String> overrides = loadOverrides(lang);
+        return new LoadedLang(lang, values, overrides, System.nanoTime() - start,
+                estimateSize(Arrays.asList(values)) + estimateSize(overrides), isFallbackOnly);
+    }
+
+    /**
+     * Load the override file of the given language from the {@link #overrideFolder}.
+     * The keys are not filtered by the {@link #keyPrefixes}, as they are added on purpose.
+     * @return the translations with lowercase keys, or null if there is no override file
+     */
+    @Nullable
+    private HashMap<String, String> loadOverrides(Lang lang){
+        File folder = this.overrideFolder;
+        if (folder == null) return null;
+        File file = new File(folder, getOverrideFileName(lang));
+        if (!file.isFile()) return null;
+
+        HashMap<String, String> items = new HashMap<>();
+        try (InputStream in = new FileInputStream(file)){
+            LangFileReader.read(in, items);
+        } catch (IOException e){
+            Bukkit.getLogger().warning(prefix + "Could not read " + file + ": " + e.getMessage());
+            return null;
+        }
+        HashMap<String, String> overrides = new HashMap<>(items.size() * 2);
+        for (Map.Entry<String, String> entry : items.entrySet()){
+            overrides.put(keyPool.intern(entry.getKey().toLowerCase(Locale.ROOT)), entry.getValue());
+        }
+        return overrides;
+    }
+
+    /**
+     * Roughly estimate the heap used by the table of translations.
+     * Every translation costs a table slot plus the string with its char array.
+     * The keys are not counted, because they are shared by all the languages.
+     */
+    private static long estimateSize(@Nullable Map<String, String> items){
+        return items == null ? 0 : estimateSize(items.values());
+    }
+
+    private static long estimateSize(Collection<String> values){
+        long bytes = 16L + 4L * values.size();
+        for (String value : values){
+            if (value != null) bytes += 40 + 2L * value.length();
+        }
+        return bytes;
     }
 
     /**
@@ -137,6 +956,14 @@ public class ItemsLangAPI {
         return translate(object, getLangFromString(lang));
     }
 
+    /**
+     * Translates the name of the given object to the language of the given player.<br>
+     * See {@link #translate(Object, Lang)} and {@link #getLang(Player)}
+     */
+    public String translate(Object object, Player player){
+        return translate(object, getLang(player));
+    }
+
     /**
      * See {@link #translateExact(String, Lang)}
      */
@@ -160,45 +987,344 @@ public class ItemsLangAPI {
      */
     @Nullable
     public String translate(Object object, Lang lang){
-        String namespacedKey = "none";
-        for (Category cat : Category.values()){
-            if (cat.getClazz().isInstance(object)){
-                namespacedKey = cat.getNamespacedKey(object);
+        Category cat = Category.of(object);
+        if (cat == null) return null;
+
+        LangStore store = this.store;
+        int id = getKeyId(store, cat, object);
+        return count(store, lang, cat.getKeyCategory(object), id, LangStore.get(getTable(store, lang), id));
+    }
+
+    /**
+     * Translates the name of the given object to each of the given languages.<br>
+     * The key of the object is resolved only once, so it is much faster than translating it to every language.
+     * @param object the object to translate
+     * @param langs the required languages
+     * @return the translations. Languages whose translation is null are not present in the map.
+     */
+    public EnumMap<Lang, String> translate(Object object, Set<Lang> langs){
+        EnumMap<Lang, String> result = new EnumMap<>(Lang.class);
+        Category cat = Category.of(object);
+        if (cat == null) return result;
+
+        LangStore store = this.store;
+        int id = getKeyId(store, cat, object);
+        Category keyCat = cat.getKeyCategory(object);
+        for (Lang lang : langs){
+            String translation = count(store, lang, keyCat, id, LangStore.get(getTable(store, lang), id));
+            if (translation != null) result.put(lang, translation);
+        }
+        return result;
+    }
+
+    /**
+     * Translates the name of the given object to the language of each of the given players
+     * (e.g. for a broadcast message).<br>
+     * The object is translated only once for every distinct language, see {@link #translate(Object, Set)}.
+     * @param object the object to translate
+     * @param players the players
+     * @return the translations for the players. Players whose translation is null are not present in the map.
+     */
+    public Map<Player, String> translateForPlayers(Object object, Collection<? extends Player> players){
+        EnumMap<Lang, List<Player>> byLang = new EnumMap<>(Lang.class);
+        for (Player player : players){
+            byLang.computeIfAbsent(getLang(player), lang -> new ArrayList<>()).add(player);
+        }
+
+        Map<Player, String> result = new HashMap<>(players.size() * 2);
+        for (Map.Entry<Lang, String> translation : translate(object, byLang.keySet()).entrySet()){
+            for (Player player : byLang.get(translation.getKey())){
+                result.put(player, translation.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the id of the namespaced key of the given object.
+     * @param cat the category of the object
+     * @return the id, or -1 if the key is unknown
+     */
+    private static int getKeyId(LangStore store, Category cat, Object object){
+        KeyIndex keys = store.getKeys();
+        if (store.getLegacy() != null && object instanceof ItemStack){
+            return store.getLegacy().getKeyId(keys, (ItemStack) object);
+        }
+        int[] ids = keys.getConstantIds(cat);
+        if (ids != null){
+            int index = cat.getConstantIndex(object);
+            if (index >= 0 && index < ids.length){
+                return ids[index];
             }
         }
-        return translateExact(namespacedKey, lang);
+        String namespacedKey = cat.getNamespacedKey(object);
+        if (namespacedKey == null) return -1;
+        return keys.getId(namespacedKey);
+    }
+
+    /**
+     * Translates the names of the given objects to the given language.<br>
+     * The language is resolved once for the whole batch, and the repeated objects
+     * (e.g. stacks of the same material) are translated only once.
+     * @param objects the objects to translate
+     * @param lang the required language
+     * @return the translations in the order of the objects. The translations of the objects
+     * that are null or cannot be translated (see {@link #translate(Object, Lang)}) are null.
+     */
+    public List<String> translateAll(Collection<?> objects, Lang lang){
+        return Arrays.asList(translateBatch(objects.toArray(), lang));
+    }
+
+    /**
+     * Translates the names of the given items to the given language.<br>
+     * See {@link #translateAll(Collection, Lang)}
+     * @return the translations at the same indexes as the items
+     */
+    public String[] translateAll(ItemStack[] items, Lang lang){
+        return translateBatch(items, lang);
+    }
+
+    /**
+     * Translates the names of all the items in the given inventory to the given language.<br>
+     * See {@link #translateAll(Collection, Lang)}
+     * @return the translations at the same indexes as the slots, null for the empty slots
+     */
+    public String[] translateAll(Inventory inventory, Lang lang){
+        return translateBatch(inventory.getContents(), lang);
+    }
+
+    private String[] translateBatch(Object[] objects, Lang lang){
+        String[] result = new String[objects.length];
+        LangStore store = this.store;
+        LangTable table = getTable(store, lang);
+        KeyIndex keys = store.getKeys();
+        LegacyIds legacy = store.getLegacy();
+        // Key ids of the objects whose keys are not computed in advance, see Category#getBatchKey
+        HashMap<Object, Integer> resolved = null;
+
+        for (int i = 0; i < objects.length; i++){
+            Object object = objects[i];
+            Category cat = Category.of(object);
+            if (cat == null) continue;
+
+            int id = -1;
+            int[] ids = keys.getConstantIds(cat);
+            int index = ids != null ? cat.getConstantIndex(object) : -1;
+            if (legacy != null && object instanceof ItemStack){
+                id = legacy.getKeyId(keys, (ItemStack) object);
+            }
+            else if (index >= 0 && index < ids.length){
+                id = ids[index];
+            }
+            else{
+                if (resolved == null) resolved = new HashMap<>();
+                Object batchKey = cat.getBatchKey(object);
+                Integer known = resolved.get(batchKey);
+                if (known == null){
+                    String namespacedKey = cat.getNamespacedKey(object);
+                    known = namespacedKey == null ? -1 : keys.getId(namespacedKey);
+                    resolved.put(batchKey, known);
+                }
+                id = known;
+            }
+            result[i] = count(store, lang, cat.getKeyCategory(object), id, LangStore.get(table, id));
+        }
+        return result;
     }
 
     /**
      * Translates the exact localization key on the given language.
      * Example:<br>
-     * translateExact("block.minecraft.stone", Lang.ES) returns "Roca".
+     * translateExact("block.minecraft.stone", Lang.ES) returns "Roca".<br>
+     * The key is case-insensitive. Translating an existing key does not allocate any memory.
      * @param namespacedKey the localization namespace + key
      * @param lang the required language
      * @return translated word or sentence, or null
      */
     @Nullable
     public String translateExact(String namespacedKey, Lang lang){
-        return map.get(lang).get(namespacedKey.toLowerCase());
+        LangStore store = this.store;
+        int id = store.getKeys().getId(namespacedKey);
+        return count(store, lang, null, id, LangStore.get(getTable(store, lang), id));
+    }
+
+    /**
+     * Get the language the translation of the given key to the given language was taken from
+     * (see {@link #setFallback(Lang, Lang...)}).
+     * @param namespacedKey the localization namespace + key
+     * @param lang the language
+     * @return the language itself if it has its own translation, the fallback language if the translation
+     * was taken from it, or null if the key is not translated or the language is not loaded
+     */
+    @Nullable
+    public Lang getSource(String namespacedKey, Lang lang){
+        LangStore store = this.store;
+        int id = store.getKeys().getId(namespacedKey);
+        LangTable table = store.getTable(lang);
+        if (table == null || !table.contains(id)) return null;
+        return store.getSource(lang, id);
+    }
+
+    /**
+     * Get a reusable handle of the given localization key.
+     * Translating the handle by {@link #translate(TranslationKey, Lang)} skips hashing the key,
+     * so it is recommended to keep the handles of the keys you translate often.
+     * @param namespacedKey the localization namespace + key
+     * @return the handle. Unknown keys are allowed, their translations are null.
+     */
+    public TranslationKey getKey(String namespacedKey){
+        String key = namespacedKey.toLowerCase(Locale.ROOT);
+        return new TranslationKey(key, store.getKeys().getId(key));
+    }
+
+    /**
+     * Translates the key of the given handle to the given language.
+     * @param key the handle got by {@link #getKey(String)}
+     * @param lang the required language
+     * @return translated word or sentence, or null
+     */
+    @Nullable
+    public String translate(TranslationKey key, Lang lang){
+        LangStore store = this.store;
+        int id = key.getId(store.getKeys());
+        return count(store, lang, null, id, LangStore.get(getTable(store, lang), id));
+    }
+
+    /**
+     * Translates the exact localization key on the given language and fills its placeholders with the given arguments.
+     * Example:<br>
+     * translateFormatted("potion.withAmplifier", Lang.EN_US, "Speed", "II") returns "Speed II".<br>
+     * The placeholders of the language files are supported: %s, %1$s (the argument with the given number) and %%.
+     * The placeholders without an argument are kept as is. The translation is compiled once and cached,
+     * so it is faster than {@link String#format(String, Object...)} on the translation.
+     * @param namespacedKey the localization namespace + key
+     * @param lang the required language
+     * @param args the arguments
+     * @return formatted translation, or null if the key is not translated
+     */
+    @Nullable
+    public String translateFormatted(String namespacedKey, Lang lang, Object... args){
+        LangStore store = this.store;
+        return format(store, lang, store.getKeys().getId(namespacedKey), args);
+    }
+
+    /**
+     * Translates the key of the given handle to the given language and fills its placeholders with the given arguments.<br>
+     * See {@link #translateFormatted(String, Lang, Object...)}
+     * @param key the handle got by {@link #getKey(String)}
+     * @param lang the required language
+     * @param args the arguments
+     * @return formatted translation, or null if the key is not translated
+     */
+    @Nullable
+    public String translateFormatted(TranslationKey key, Lang lang, Object... args){
+        LangStore store = this.store;
+        return format(store, lang, key.getId(store.getKeys()), args);
+    }
+
+    private String format(LangStore store, Lang lang, int id, Object[] args){
+        LangTable table = getTable(store, lang);
+        String translation = count(store, lang, null, id, LangStore.get(table, id));
+        if (translation == null) return null;
+        return table.getTemplate(id, translation).format(args);
     }
 
     /**
      * Try to get a translation without knowing a namespace.<br>
-     * It will loop through all the available namespaces defined in {@link Category} trying to find the given key.
+     * It will look for the given key in all the available namespaces defined in {@link Category},
+     * in the order they are defined there. The namespaces of all the keys are indexed in advance,
+     * so it is a single lookup.
      * @param key the key
      * @param lang the required language
      * @return translated word or sentence, or null
      */
     @Nullable
     public String translateAnything(String key, Lang lang){
-        String translation = null;
-        for (String namespace : Category.getAllNamespaces()){
-            translation = map.get(lang).get(namespace + key.toLowerCase());
-            if (translation != null) return translation;
+        LangStore store = this.store;
+        LangTable table = getTable(store, lang);
+        int[] ids = table == null ? null : store.getKeys().getBareIds(key);
+        if (ids != null){
+            for (int id : ids){
+                if (table.contains(id)) return count(store, lang, null, id, table.get(id));
+            }
+        }
+        return count(store, lang, null, -1, null);
+    }
+
+    /**
+     * Get the namespace in which {@link #translateAnything(String, Lang)} finds the given key.
+     * Example:<br>
+     * getAnythingNamespace("fox", Lang.EN_US) returns "entity.minecraft.".
+     * @param key the key
+     * @param lang the required language
+     * @return the namespace, or null if the key is not found
+     */
+    @Nullable
+    public String getAnythingNamespace(String key, Lang lang){
+        LangStore store = this.store;
+        LangTable table = getTable(store, lang);
+        if (table == null) return null;
+        KeyIndex keys = store.getKeys();
+        int[] ids = keys.getBareIds(key);
+        if (ids == null) return null;
+        for (int id : ids){
+            if (table.contains(id)){
+                String namespacedKey = keys.getKey(id);
+                return namespacedKey.substring(0, namespacedKey.length() - key.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Count the lookup of the key with the given id in the {@link #metrics}.
+     * @return the translation
+     */
+    private String count(LangStore store, Lang lang, @Nullable Category cat, int id, @Nullable String translation){
+        metrics.recordLookup(lang, cat, translation != null);
+        if (translation != null && lang != defaultLang && store.getSource(lang, id) == defaultLang){
+            metrics.recordDefaultFallback(lang);
         }
         return translation;
     }
 
+    /**
+     * Get the counters of the translations made since the start (or since {@link TranslationMetrics#reset()}).<br>
+     * See also {@link #getLoadTime(Lang)} and {@link #getRetainedBytes(Lang)}.
+     * @return the metrics
+     */
+    public TranslationMetrics getMetrics(){
+        return metrics;
+    }
+
+    /**
+     * Get the table of translations of the given language.
+     * If the language is being loaded at the moment, the table of the {@link #defaultLang} is returned.
+     * If lazy loading is enabled and the language is not loaded, it is loaded now.
+     * @param store the snapshot of the {@link #store} the caller works with
+     * @param lang the language
+     * @return the table indexed by key ids, or null if the language is not loaded
+     */
+    @Nullable
+    private LangTable getTable(LangStore store, Lang lang){
+        LangTable table = store.getTable(lang);
+        if (table != null){
+            if (isLazyLoading){
+                lazyHits.increment();
+                lastAccess.set(lang.ordinal(), System.nanoTime());
+            }
+            return table;
+        }
+        if (pending.contains(lang)){
+            metrics.recordDefaultFallback(lang);
+            return store.getTable(defaultLang);
+        }
+        if (isLazyLoading){
+            return loadLazily(lang);
+        }
+        return null;
+    }
+
     /**
      * Get a {@link Lang} from a string.
      * If no language with that name exists, returns the {@link #defaultLang}.
@@ -206,15 +1332,68 @@ public class ItemsLangAPI {
      * @return the Lang object
      */
     private Lang getLangFromString(String lang){
-        Lang lang0 = this.defaultLang;
-        try{
-            lang0 = Lang.valueOf(lang.toUpperCase());
-        } catch (IllegalArgumentException e){
-            if (!this.isHideWarnings){
-                Bukkit.getLogger().warning(warning.replace("$lang", lang));
-            }
+        Lang lang0 = Lang.fromCode(lang);
+        if (lang0 != null) return lang0;
+        if (!this.isHideWarnings){
+            warnNonExistentLang(String.valueOf(lang));
+        }
+        return this.defaultLang;
+    }
+
+    /**
+     * Send the {@link #warning} about the given language,
+     * unless it has already been sent for this language recently.
+     */
+    private void warnNonExistentLang(String lang){
+        long now = System.nanoTime();
+        Long last = warnedLangs.get(lang);
+        if (last != null && now - last < warningInterval) return;
+        if (last == null && warnedLangs.size() >= maxWarnedLangs) return;
+        if (last == null ? warnedLangs.putIfAbsent(lang, now) != null : !warnedLangs.replace(lang, last, now)) return;
+        Bukkit.getLogger().warning(warning.replace("$lang", lang).replace("$default", defaultLang.getCode()));
+    }
+
+    /**
+     * Get the language of the given player. If the player's locale is not supported, the {@link #defaultLang} is returned.<br>
+     * If the cache is enabled by {@link #enablePlayerCache(Plugin)}, the language is resolved only once per player.
+     * @param player the player
+     * @return the language
+     */
+    public Lang getLang(Player player){
+        if (!isPlayerCacheEnabled){
+            return getLangFromString(Comp.getLocale(player));
+        }
+        Lang lang = playerLangs.get(player.getUniqueId());
+        if (lang == null){
+            lang = getLangFromString(Comp.getLocale(player));
+            playerLangs.put(player.getUniqueId(), lang);
         }
-        return lang0;
+        return lang;
+    }
+
+    /**
+     * Cache the languages of the players, so {@link #getLang(Player)} and {@link #translate(Object, Player)}
+     * do not parse the player's locale on every call. The cache is updated when a player changes their locale
+     * and cleared when they leave. Requires MC 1.12+, on older versions this method does nothing.
+     * @param plugin the plugin to register the listener for
+     */
+    public synchronized void enablePlayerCache(Plugin plugin){
+        if (isPlayerCacheEnabled) return;
+        try {
+            Class.forName("org.bukkit.event.player.PlayerLocaleChangeEvent");
+        } catch (ClassNotFoundException e){
+            return;
+        }
+        Bukkit.getPluginManager().registerEvents(new PlayerLangListener(this), plugin);
+        isPlayerCacheEnabled = true;
+    }
+
+    void updatePlayerLang(UUID player, String locale){
+        if (isPlayerCacheEnabled) playerLangs.put(player, getLangFromString(locale));
+    }
+
+    void removePlayerLang(UUID player){
+        playerLangs.remove(player);
     }
 
     /**
@@ -233,27 +1412,90 @@ public class ItemsLangAPI {
     }
 
     /**
-     * Set the default Lang. Initially, it is {@link Lang#EN_US}.
+     * Set the default Lang. Initially, it is {@link Lang#EN_US}.<br>
+     * The new default language is loaded on the next {@link #getApi()} call if it is not loaded yet.
      * @param lang the language
      */
-    public final void setDefault(Lang lang){
+    public final synchronized void setDefault(Lang lang){
+        if (this.defaultLang == lang) return;
         this.defaultLang = lang;
+        this.isDefaultLoaded = false;
     }
 
     /**
-     * Get the {@link #map}.
+     * Get a copy of all the loaded translations.
+     * Format:<br>
+     * Lang : {key : translation}<br>
+     * EN : {item.minecraft.clock : "Clock"}
      * @return the map
+     * @deprecated the translations are not stored in maps anymore, so the map is built on every call.
+     * Use {@link #translateExact(String, Lang)} or {@link #getKey(String)} instead.
      */
+    @Deprecated
     public final HashMap<Lang, HashMap<String, String>> getMap(){
-        return this.map;
+        LangStore store = this.store;
+        KeyIndex keys = store.getKeys();
+        HashMap<Lang, HashMap<String, String>> map = new HashMap<>();
+        for (Lang lang : store.getLoaded()){
+            String[] table = store.getTable(lang).toArray();
+            HashMap<String, String> translations = new HashMap<>(table.length * 2);
+            for (int i = 0; i < table.length; i++){
+                if (table[i] != null) translations.put(keys.getKey(i), table[i]);
+            }
+            map.put(lang, translations);
+        }
+        return map;
     }
 
     /**
-     * Get the {@link #legacyToModern}
-     * @return the map
+     * Get the map containing legacy ids and their correspondent modern names.<br>
+     * Example: 35-1 -> orange_wool<br>
+     * The map is loaded only on legacy servers and must not be modified.
+     * @return the map, empty on modern servers
      */
     public final HashMap<String, String> getLegacyToModern(){
-        return this.legacyToModern;
+        LegacyIds legacy = store.getLegacy();
+        return legacy != null ? legacy.getMap() : new HashMap<>();
+    }
+
+    /**
+     * Get the legacy ids table, or null if the server is not legacy.
+     */
+    @Nullable
+    LegacyIds getLegacyIds(){
+        return store.getLegacy();
+    }
+
+    /**
+     * A parsed language file that is not published to the {@link #store} yet.
+     */
+    private static final class LoadedLang {
+        private final Lang lang;
+        /**
+         * The table read from the {@link LangPack}, indexed by the ids of its keys.
+         */
+        private final String[] values;
+        /**
+         * The translations read from the override file, or null if there is no such file.
+         */
+        private final HashMap<String, String> overrides;
+        private final long nanos;
+        private final long bytes;
+        /**
+         * Is the language parsed only to resolve the fallback chain of another language?
+         * Such languages are not published.
+         */
+        private final boolean isFallbackOnly;
+
+        private LoadedLang(Lang lang, String[] values, HashMap<String, String> overrides,
+                           long nanos, long bytes, boolean isFallbackOnly){
+            this.lang = lang;
+            this.values = values;
+            this.overrides = overrides;
+            this.nanos = nanos;
+            this.bytes = bytes;
+            this.isFallbackOnly = isFallbackOnly;
+        }
     }
 
 }
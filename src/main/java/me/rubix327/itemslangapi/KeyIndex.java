@@ -0,0 +1,201 @@
+package me.rubix327.itemslangapi;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The index of all the known localization keys.<br>
+ * Every key has a stable id, which is the index of its translation in the tables of {@link LangStore}.
+ * The index is immutable: adding keys creates a new index keeping the ids of the existing keys.<br>
+ * Keys are case-insensitive.
+ */
+final class KeyIndex {
+
+    private final String[] keys;
+    /**
+     * Open addressing hash table of key ids + 1 (0 marks an empty slot).
+     * Keys are hashed and compared ignoring case, so lookups do not need to lowercase the key.
+     */
+    private final int[] slots;
+    private final int mask;
+    /**
+     * The key ids of the constants of every {@link Category}, indexed by {@link Category#ordinal()}
+     * and then by the constant ordinal. Computed on the first use.
+     */
+    private final AtomicReferenceArray<int[]> constantIds = new AtomicReferenceArray<>(Category.values().length);
+    /**
+     * The index of the keys without their {@link Category} namespaces. Computed on the first use.
+     */
+    private volatile BareKeys bareKeys = null;
+
+    KeyIndex(String[] keys){
+        this.keys = keys;
+        int capacity = Integer.highestOneBit(Math.max(keys.length, 8) * 2 - 1) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < keys.length; i++){
+            int slot = hash(keys[i]) & mask;
+            while (slots[slot] != 0){
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Get the id of the given key, ignoring case.<br>
+     * This method does not allocate anything.
+     * @param key the namespaced key
+     * @return the id, or -1 if the key is unknown
+     */
+    int getId(CharSequence key){
+        int slot = hash(key) & mask;
+        int id;
+        while ((id = slots[slot]) != 0){
+            if (equalsIgnoreCase(keys[id - 1], key)) return id - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(CharSequence key){
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++){
+            hash = 31 * hash + toLowerCase(key.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equalsIgnoreCase(String key, CharSequence other){
+        int length = key.length();
+        if (length != other.length()) return false;
+        for (int i = 0; i < length; i++){
+            char c = key.charAt(i);
+            char o = other.charAt(i);
+            if (c != o && toLowerCase(c) != toLowerCase(o)) return false;
+        }
+        return true;
+    }
+
+    private static char toLowerCase(char c){
+        if (c < 128){
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * Get the key with the given id.
+     */
+    String getKey(int id){
+        return keys[id];
+    }
+
+    /**
+     * Get the key ids of all the constants of the given category, indexed by their ordinal.<br>
+     * The ids do not depend on the language, so they are computed once for all the languages.
+     * @return the ids (-1 for constants without a translation), or null if the category has no such constants
+     */
+    @Nullable
+    int[] getConstantIds(Category category){
+        int[] result = constantIds.get(category.ordinal());
+        if (result != null) return result.length == 0 ? null : result;
+
+        Object[] constants = category.getConstants();
+        result = new int[constants == null ? 0 : constants.length];
+        for (int i = 0; i < result.length; i++){
+            result[i] = getId(category.getConstantKey(constants[i]));
+        }
+        constantIds.set(category.ordinal(), result);
+        return result.length == 0 ? null : result;
+    }
+
+    /**
+     * Get the ids of all the keys which are the given key prefixed by one of the {@link Category} namespaces.<br>
+     * The ids are sorted by the priority of the namespaces (the order of {@link Category}).
+     * This method does not allocate anything (except for building the index on the first call).
+     * @param bareKey the key without a namespace, e.g. "fox"
+     * @return the ids, or null if there are no such keys
+     */
+    @Nullable
+    int[] getBareIds(CharSequence bareKey){
+        BareKeys bareKeys = this.bareKeys;
+        if (bareKeys == null){
+            bareKeys = new BareKeys(this);
+            this.bareKeys = bareKeys;
+        }
+        int id = bareKeys.index.getId(bareKey);
+        return id == -1 ? null : bareKeys.ids[id];
+    }
+
+    int size(){
+        return keys.length;
+    }
+
+    /**
+     * Get an index containing the keys of this index and the given keys.
+     * @param newKeys the keys to add
+     * @return the new index, or this index if all the keys are already known
+     */
+    KeyIndex withKeys(Collection<String> newKeys){
+        String[] result = null;
+        int size = keys.length;
+        for (String key : newKeys){
+            if (getId(key) != -1) continue;
+            if (result == null){
+                result = new String[keys.length + newKeys.size()];
+                System.arraycopy(keys, 0, result, 0, keys.length);
+            }
+            result[size++] = key;
+        }
+        if (result == null) return this;
+
+        String[] trimmed = new String[size];
+        System.arraycopy(result, 0, trimmed, 0, size);
+        return new KeyIndex(trimmed);
+    }
+
+    /**
+     * The keys without their namespaces and the ids of the full keys.
+     */
+    private static final class BareKeys {
+        private final KeyIndex index;
+        private final int[][] ids;
+
+        private BareKeys(KeyIndex keys){
+            Set<String> namespaces = new LinkedHashSet<>();
+            for (Category category : Category.VALUES){
+                if (category.getNamespace().indexOf('$') == -1) namespaces.add(category.getNamespace());
+            }
+
+            // Namespaces are iterated by priority, so the ids of every bare key are sorted by priority too
+            LinkedHashMap<String, List<Integer>> found = new LinkedHashMap<>();
+            for (String namespace : namespaces){
+                for (int i = 0; i < keys.size(); i++){
+                    String key = keys.getKey(i);
+                    if (key.length() > namespace.length() && key.regionMatches(true, 0, namespace, 0, namespace.length())){
+                        found.computeIfAbsent(key.substring(namespace.length()), k -> new ArrayList<>(1)).add(i);
+                    }
+                }
+            }
+
+            this.index = new KeyIndex(found.keySet().toArray(new String[0]));
+            this.ids = new int[found.size()][];
+            int bare = 0;
+            for (List<Integer> list : found.values()){
+                int[] array = new int[list.size()];
+                for (int i = 0; i < array.length; i++){
+                    array[i] = list.get(i);
+                }
+                ids[bare++] = array;
+            }
+        }
+    }
+
+}
@@ -1,5 +1,9 @@
 package me.rubix327.itemslangapi;
 
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Locale;
+
 /**
  * Represents all the languages codes available in the game.
  */
@@ -126,5 +130,44 @@ public enum Lang {
     ZH_CN,
     ZH_HK,
     ZH_TW,
-    ZLM_ARAB
+    ZLM_ARAB;
+
+    /**
+     * All the languages by their lowercase codes.
+     */
+    private static final HashMap<String, Lang> byCode = new HashMap<>();
+
+    static {
+        for (Lang lang : values()){
+            byCode.put(lang.code, lang);
+        }
+    }
+
+    private final String code;
+
+    Lang(){
+        this.code = name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the code of this language as used by the game, e.g. "en_us".
+     * @return the lowercase code
+     */
+    public String getCode(){
+        return this.code;
+    }
+
+    /**
+     * Get a language by its code. The code is case-insensitive and both '_' and '-'
+     * separators are accepted, so "en_us", "en_US" and "en-US" are the same language.
+     * @param code the language code
+     * @return the language, or null if there is no language with this code
+     */
+    @Nullable
+    public static Lang fromCode(@Nullable String code){
+        if (code == null) return null;
+        Lang lang = byCode.get(code);
+        if (lang != null) return lang;
+        return byCode.get(code.replace('-', '_').toLowerCase(Locale.ROOT));
+    }
 }
@@ -0,0 +1,185 @@
+package me.rubix327.itemslangapi;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Single-pass streaming reader for the game language files (lang/*.json).<br>
+ * These files are flat JSON objects of the form {"key": "value", ...},
+ * so no intermediate tree is needed: every pair is put into the target map as soon as it is read.
+ */
+final class LangFileReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private int line = 1;
+    /**
+     * Reusable buffer for the currently read string.
+     */
+    private char[] chars = new char[256];
+    private int length = 0;
+
+    private LangFileReader(InputStream in){
+        this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read all the pairs from the given stream into the target map.
+     * @param in the stream of a language file. It is not closed by this method.
+     * @param target the map to put the pairs into
+     * @return the number of pairs put into the map
+     * @throws IOException if the stream cannot be read or the file is malformed
+     */
+    static int read(InputStream in, Map<String, String> target) throws IOException {
+        return read(in, target, null, null);
+    }
+
+    /**
+     * Read the pairs whose keys start with one of the given prefixes from the given stream into the target map.
+     * Other keys are skipped while parsing, so no strings are created for them.
+     * @param in the stream of a language file. It is not closed by this method.
+     * @param target the map to put the pairs into
+     * @param prefixes the allowed key prefixes, or null to keep all the keys
+     * @param keys the pool to share the key instances between languages, or null
+     * @return the number of pairs put into the map
+     * @throws IOException if the stream cannot be read or the file is malformed
+     */
+    static int read(InputStream in, Map<String, String> target, @Nullable String[] prefixes,
+                    @Nullable StringPool keys) throws IOException {
+        return new LangFileReader(in).readObject(target, prefixes, keys);
+    }
+
+    private int readObject(Map<String, String> target, String[] prefixes, StringPool keys) throws IOException {
+        int counter = 0;
+        expect('{');
+        int c = nextToken();
+        if (c == '}') return counter;
+
+        while (true){
+            if (c != '"') throw error("Expected a key");
+            readString();
+            String key = isAllowed(prefixes) ? new String(chars, 0, length) : null;
+            if (key != null && keys != null) key = keys.intern(key);
+
+            expect(':');
+            if (nextToken() != '"') throw error("Expected a string value");
+            readString();
+            if (key != null){
+                target.put(key, new String(chars, 0, length));
+                counter++;
+            }
+
+            c = nextToken();
+            if (c == '}') return counter;
+            if (c != ',') throw error("Expected ',' or '}'");
+            c = nextToken();
+        }
+    }
+
+    /**
+     * Read the string contents after the opening quote into {@link #chars}.
+     */
+    private void readString() throws IOException {
+        length = 0;
+        while (true){
+            int c = next();
+            if (c == '"') return;
+            if (c == -1) throw error("Unterminated string");
+            if (c == '\\'){
+                c = next();
+                switch (c){
+                    case '"': case '\\': case '/': break;
+                    case 'b': c = '\b'; break;
+                    case 'f': c = '\f'; break;
+                    case 'n': c = '\n'; break;
+                    case 'r': c = '\r'; break;
+                    case 't': c = '\t'; break;
+                    case 'u': c = readUnicode(); break;
+                    default: throw error("Illegal escape sequence");
+                }
+            }
+            append((char) c);
+        }
+    }
+
+    /**
+     * Check if the string currently stored in {@link #chars} starts with one of the given prefixes.
+     */
+    private boolean isAllowed(String[] prefixes){
+        if (prefixes == null) return true;
+        for (String prefix : prefixes){
+            if (startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    private boolean startsWith(String prefix){
+        if (prefix.length() > length) return false;
+        for (int i = 0; i < prefix.length(); i++){
+            if (chars[i] != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private int readUnicode() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++){
+            int digit = Character.digit(next(), 16);
+            if (digit == -1) throw error("Illegal unicode escape sequence");
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private void append(char c){
+        if (length == chars.length){
+            char[] grown = new char[chars.length * 2];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+        chars[length++] = c;
+    }
+
+    private void expect(char expected) throws IOException {
+        if (nextToken() != expected) throw error("Expected '" + expected + "'");
+    }
+
+    /**
+     * Get the next character that is not a whitespace.
+     */
+    private int nextToken() throws IOException {
+        int c;
+        do {
+            c = next();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\uFEFF');
+        return c;
+    }
+
+    private int next() throws IOException {
+        if (position == limit){
+            limit = reader.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0){
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buffer[position++];
+        if (c == '\n') line++;
+        return c;
+    }
+
+    private IOException error(String message){
+        return new IOException(message + " at line " + line + ".");
+    }
+
+}
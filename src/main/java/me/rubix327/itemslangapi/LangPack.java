@@ -0,0 +1,215 @@
+package me.rubix327.itemslangapi;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * The precompiled binary language pack generated during the build by LangPackWriter (src/build/java).<br>
+ * The pack consists of:
+ * <ul>
+ * <li>{@link #DICTIONARY} - the keys of all the languages, the strings used by more than one language
+ * and the legacy ids table;</li>
+ * <li>{@link #TABLES} - one value table per language, referencing the keys and the shared strings by index.</li>
+ * </ul>
+ * Every language has its own entry, so loading one language does not require inflating the others.
+ */
+final class LangPack {
+
+    static final int MAGIC = 0x494C4150; // "ILAP"
+    static final int VERSION = 1;
+    static final String DICTIONARY = "/pack/dictionary.bin";
+    static final String TABLES = "/pack/$file.bin";
+
+    private static final Object lock = new Object();
+    private static volatile LangPack pack = null;
+
+    /**
+     * All the keys of all the languages, sorted.
+     */
+    private final String[] keys;
+    /**
+     * UTF-8 bytes of the strings used by more than one language.
+     */
+    private final byte[] shared;
+    /**
+     * The start of every shared string in {@link #shared}. Has one more element marking the end.
+     */
+    private final int[] offsets;
+    /**
+     * Already decoded shared strings, so equal values of different languages are the same String instance.
+     */
+    private final String[] decoded;
+    /**
+     * Legacy ids and their correspondent modern names.
+     */
+    private final HashMap<String, String> legacy;
+
+    private LangPack(String[] keys, byte[] shared, int[] offsets, HashMap<String, String> legacy){
+        this.keys = keys;
+        this.shared = shared;
+        this.offsets = offsets;
+        this.decoded = new String[offsets.length - 1];
+        this.legacy = legacy;
+    }
+
+    /**
+     * Get the language pack, reading its dictionary on the first call.
+     * @throws IllegalStateException if the jar does not contain the pack (the build step compiling it was skipped)
+     * or the pack cannot be read
+     */
+    static LangPack get(){
+        LangPack pack = LangPack.pack;
+        if (pack != null) return pack;
+        synchronized (lock){
+            if (LangPack.pack != null) return LangPack.pack;
+            try (InputStream in = LangPack.class.getResourceAsStream(DICTIONARY)){
+                if (in == null){
+                    throw new IllegalStateException("The language pack " + DICTIONARY + " does not exist in jar file. " +
+                            "It is compiled by the Maven build (mvn package), the jar must not be built without it.");
+                }
+                LangPack.pack = readDictionary(new DataInputStream(new BufferedInputStream(in)));
+            } catch (IOException e){
+                throw new IllegalStateException("Could not read the language pack " + DICTIONARY + ": " + e.getMessage(), e);
+            }
+            return LangPack.pack;
+        }
+    }
+
+    private static LangPack readDictionary(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION){
+            throw new IOException("Unsupported language pack.");
+        }
+
+        String[] keys = new String[readVarInt(in)];
+        for (int i = 0; i < keys.length; i++){
+            keys[i] = readString(in);
+        }
+
+        int[] offsets = new int[readVarInt(in) + 1];
+        byte[] shared = new byte[in.readInt()];
+        for (int i = 1; i < offsets.length; i++){
+            offsets[i] = offsets[i - 1] + readVarInt(in);
+        }
+        in.readFully(shared);
+
+        int legacySize = readVarInt(in);
+        HashMap<String, String> legacy = new HashMap<>(legacySize * 2);
+        for (int i = 0; i < legacySize; i++){
+            legacy.put(readString(in), readString(in));
+        }
+        return new LangPack(keys, shared, offsets, legacy);
+    }
+
+    /**
+     * Read the table of the given language.
+     * @param lang the language
+     * @param target the table to put the translations into, indexed by the ids of {@link #getKeys()}
+     * @param prefixes the allowed key prefixes, or null to keep all the keys
+     * @return the number of translations put into the table
+     * @throws IOException if the table does not exist or cannot be read
+     */
+    int readTable(Lang lang, String[] target, @Nullable String[] prefixes) throws IOException {
+        String path = TABLES.replace("$file", lang.getCode());
+        try (InputStream file = LangPack.class.getResourceAsStream(path)){
+            if (file == null) throw new IOException("File " + path + " does not exist in jar file.");
+            DataInputStream in = new DataInputStream(new BufferedInputStream(file));
+            if (in.readInt() != MAGIC) throw new IOException("File " + path + " is not a language table.");
+
+            int size = readVarInt(in);
+            int counter = 0;
+            int keyId = -1;
+            byte[] bytes = new byte[256];
+            for (int i = 0; i < size; i++){
+                keyId += readVarInt(in) + 1;
+                int ref = readVarInt(in);
+                int length = ref == 0 ? readVarInt(in) : 0;
+                // The filtered keys are skipped without creating strings for their values
+                if (prefixes != null && !startsWithAny(keys[keyId], prefixes)){
+                    if (in.skipBytes(length) != length) throw new IOException("File " + path + " is truncated.");
+                    continue;
+                }
+
+                if (ref == 0){
+                    if (length > bytes.length) bytes = new byte[Math.max(length, bytes.length * 2)];
+                    in.readFully(bytes, 0, length);
+                    target[keyId] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+                }
+                else{
+                    target[keyId] = getShared(ref - 1);
+                }
+                counter++;
+            }
+            return counter;
+        }
+    }
+
+    private String getShared(int index){
+        String value = decoded[index];
+        if (value == null){
+            value = new String(shared, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+            decoded[index] = value;
+        }
+        return value;
+    }
+
+    private static boolean startsWithAny(String key, String[] prefixes){
+        for (String prefix : prefixes){
+            if (key.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get all the keys of all the languages. The index of a key is its id in the language tables.
+     */
+    String[] getKeys(){
+        return keys;
+    }
+
+    /**
+     * Get the legacy ids and their correspondent modern names.
+     */
+    HashMap<String, String> getLegacy(){
+        return legacy;
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0){
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+}
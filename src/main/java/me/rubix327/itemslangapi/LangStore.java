@@ -0,0 +1,147 @@
+package me.rubix327.itemslangapi;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of all the loaded translations.<br>
+ * Translations of every language are kept in a {@link LangTable} indexed by the key ids of the {@link KeyIndex},
+ * and the tables are indexed by {@link Lang#ordinal()}, so a translation of an on-heap table is just two array reads.
+ * Loading and unloading create a new store instead of modifying the existing one.<br>
+ * If a table contains translations taken from the fallback languages, the language they came from
+ * is recorded for every key in a parallel array of {@link Lang#ordinal()} + 1 (0 means the language's own translation).<br>
+ * The store also holds the legacy ids table, so a single reference to the store is all the state
+ * the translations need. Readers get the reference once and never see a partially loaded state.
+ */
+final class LangStore {
+
+    private static final Lang[] LANGS = Lang.values();
+
+    private final KeyIndex keys;
+    private final LangTable[] tables;
+    private final byte[][] sources;
+    private final Set<Lang> loaded;
+    /**
+     * Legacy ids and their correspondent modern names, or null if not loaded.
+     */
+    private final LegacyIds legacy;
+
+    LangStore(KeyIndex keys){
+        this(keys, new LangTable[LANGS.length], new byte[LANGS.length][], null);
+    }
+
+    private LangStore(KeyIndex keys, LangTable[] tables, byte[][] sources, LegacyIds legacy){
+        this.keys = keys;
+        this.tables = tables;
+        this.sources = sources;
+        this.legacy = legacy;
+        Set<Lang> loaded = EnumSet.noneOf(Lang.class);
+        for (Lang lang : LANGS){
+            if (tables[lang.ordinal()] != null) loaded.add(lang);
+        }
+        this.loaded = Collections.unmodifiableSet(loaded);
+    }
+
+    KeyIndex getKeys(){
+        return keys;
+    }
+
+    /**
+     * Get the table of the given language.
+     * @return the table indexed by key ids, or null if the language is not loaded.
+     * The table may be shorter than the {@link KeyIndex} if keys were added after the language was loaded.
+     */
+    LangTable getTable(Lang lang){
+        return tables[lang.ordinal()];
+    }
+
+    /**
+     * Get a copy of the table of the given language without the translations taken from the fallback languages.
+     * @return the translations indexed by key ids, or null if the language is not loaded
+     */
+    String[] getOwnTable(Lang lang){
+        LangTable table = tables[lang.ordinal()];
+        if (table == null) return null;
+        byte[] source = sources[lang.ordinal()];
+        String[] own = table.toArray();
+        if (source == null) return own;
+        for (int i = 0; i < source.length; i++){
+            if (source[i] != 0) own[i] = null;
+        }
+        return own;
+    }
+
+    /**
+     * Get the language the translation of the key with the given id was taken from.
+     * @return the fallback language, or the given language itself if the translation is its own
+     */
+    Lang getSource(Lang lang, int id){
+        byte[] source = sources[lang.ordinal()];
+        if (source == null || id < 0 || id >= source.length || source[id] == 0) return lang;
+        return LANGS[(source[id] & 0xFF) - 1];
+    }
+
+    boolean isLoaded(Lang lang){
+        return tables[lang.ordinal()] != null;
+    }
+
+    Set<Lang> getLoaded(){
+        return loaded;
+    }
+
+    /**
+     * Get a store with the given tables added (or replaced).
+     * @param keys the index the tables are built with. It must contain all the keys of this store's index.
+     * @param addedSources the sources of the added tables containing fallback translations (see {@link LangStore})
+     */
+    LangStore with(KeyIndex keys, Map<Lang, LangTable> added, Map<Lang, byte[]> addedSources){
+        LangTable[] copy = tables.clone();
+        byte[][] sourcesCopy = sources.clone();
+        for (Map.Entry<Lang, LangTable> entry : added.entrySet()){
+            copy[entry.getKey().ordinal()] = entry.getValue();
+            sourcesCopy[entry.getKey().ordinal()] = addedSources.get(entry.getKey());
+        }
+        return new LangStore(keys, copy, sourcesCopy, legacy);
+    }
+
+    /**
+     * Get a store without the given languages.
+     */
+    LangStore without(Collection<Lang> removed){
+        LangTable[] copy = tables.clone();
+        byte[][] sourcesCopy = sources.clone();
+        for (Lang lang : removed){
+            copy[lang.ordinal()] = null;
+            sourcesCopy[lang.ordinal()] = null;
+        }
+        return new LangStore(keys, copy, sourcesCopy, legacy);
+    }
+
+    /**
+     * Get the legacy ids and their correspondent modern names.
+     * @return the table, or null if it is not loaded
+     */
+    LegacyIds getLegacy(){
+        return legacy;
+    }
+
+    /**
+     * Get a store with the given legacy ids table.
+     */
+    LangStore withLegacy(LegacyIds legacy){
+        return new LangStore(keys, tables, sources, legacy);
+    }
+
+    /**
+     * Get the translation of the key with the given id.
+     * @return the translation, or null if the language is not loaded or has no such key
+     */
+    static String get(LangTable table, int id){
+        if (table == null) return null;
+        return table.get(id);
+    }
+
+}
@@ -0,0 +1,102 @@
+package me.rubix327.itemslangapi;
+
+/**
+ * The translations of one language, indexed by the key ids of the {@link KeyIndex}.<br>
+ * The translations are kept either on the heap ({@link #of(String[])}) or outside of it
+ * ({@link OffHeapTable}). Tables are immutable once published in a {@link LangStore}.
+ */
+abstract class LangTable {
+
+    /**
+     * The compiled translations of {@link #getTemplate(int, String)} indexed by key ids, created on the first call.
+     * Templates are immutable, so the racy writes of different threads are safe.
+     */
+    private volatile FormatTemplate[] templates = null;
+
+    /**
+     * Get the translation of the key with the given id.
+     * @return the translation, or null if the table has no such key
+     */
+    abstract String get(int id);
+
+    /**
+     * Check if the table has a translation of the key with the given id.
+     * Unlike {@link #get(int)}, it never creates a String.
+     */
+    abstract boolean contains(int id);
+
+    /**
+     * Get the number of ids the table covers.
+     * It may be less than the size of the {@link KeyIndex} if keys were added after the table was built.
+     */
+    abstract int length();
+
+    /**
+     * Get all the translations as a new array indexed by key ids.
+     */
+    String[] toArray(){
+        String[] values = new String[length()];
+        for (int i = 0; i < values.length; i++){
+            values[i] = get(i);
+        }
+        return values;
+    }
+
+    /**
+     * Get the compiled template of the translation of the key with the given id.
+     * It is compiled on the first call and cached along with the table, so reloading the language drops it.
+     * @param translation the translation of the key in this table
+     */
+    FormatTemplate getTemplate(int id, String translation){
+        FormatTemplate[] templates = this.templates;
+        if (templates == null){
+            templates = new FormatTemplate[length()];
+            this.templates = templates;
+        }
+        FormatTemplate template = templates[id];
+        if (template == null){
+            template = FormatTemplate.compile(translation);
+            templates[id] = template;
+        }
+        return template;
+    }
+
+    /**
+     * Get a table keeping the given translations on the heap. The array is not copied.
+     */
+    static LangTable of(String[] values){
+        return new Heap(values);
+    }
+
+    private static final class Heap extends LangTable {
+
+        private final String[] values;
+
+        private Heap(String[] values){
+            this.values = values;
+        }
+
+        @Override
+        String get(int id){
+            if (id < 0 || id >= values.length) return null;
+            return values[id];
+        }
+
+        @Override
+        boolean contains(int id){
+            return id >= 0 && id < values.length && values[id] != null;
+        }
+
+        @Override
+        int length(){
+            return values.length;
+        }
+
+        @Override
+        String[] toArray(){
+            return values.clone();
+        }
+
+    }
+
+}
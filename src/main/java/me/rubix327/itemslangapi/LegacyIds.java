@@ -0,0 +1,144 @@
+package me.rubix327.itemslangapi;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The legacy ids table (see {@link ItemsLangAPI#getLegacyToModern()}) keyed by the material and the data value
+ * packed into an int, so the modern id of an item is found without building any strings.<br>
+ * It also keeps the namespaced keys of the modern ids, and resolves them to the key ids of a {@link KeyIndex}
+ * once, so translating an item on a legacy server is as fast as on a modern one.
+ */
+final class LegacyIds {
+
+    private static final int EMPTY = -1;
+
+    private final HashMap<String, String> map;
+    /**
+     * Open addressing table of the packed legacy ids, see {@link #pack(Material, int)}.
+     */
+    private final int[] packed;
+    private final String[] modern;
+    /**
+     * The namespaced keys of the items, at the same indexes as {@link #packed}.
+     */
+    private final String[] namespacedKeys;
+    private final int mask;
+    private volatile Resolved resolved = null;
+
+    /**
+     * @param map the legacy ids like "wool-1" and their modern names. It must not be modified after this call.
+     */
+    LegacyIds(HashMap<String, String> map){
+        this.map = map;
+        int capacity = Integer.highestOneBit(Math.max(16, map.size() * 2) - 1) << 1;
+        this.packed = new int[capacity];
+        this.modern = new String[capacity];
+        this.namespacedKeys = new String[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(packed, EMPTY);
+
+        for (Map.Entry<String, String> entry : map.entrySet()){
+            String legacyId = entry.getKey();
+            int separator = legacyId.lastIndexOf('-');
+            if (separator == -1) continue;
+            Material type = Material.getMaterial(legacyId.substring(0, separator).toUpperCase(Locale.ROOT));
+            if (type == null) continue;
+            int data;
+            try {
+                data = Integer.parseInt(legacyId.substring(separator + 1));
+            } catch (NumberFormatException e){
+                continue;
+            }
+
+            int key = pack(type, data);
+            int slot = slot(key);
+            while (packed[slot] != EMPTY && packed[slot] != key){
+                slot = (slot + 1) & mask;
+            }
+            packed[slot] = key;
+            modern[slot] = entry.getValue();
+            namespacedKeys[slot] = Category.getItemKey(type, entry.getValue());
+        }
+    }
+
+    private static int pack(Material type, int data){
+        return (type.ordinal() << 16) | (data & 0xFFFF);
+    }
+
+    private int slot(int key){
+        return ((key * 0x9E3779B9) >>> 16) & mask;
+    }
+
+    private int indexOf(Material type, int data){
+        int key = pack(type, data);
+        for (int slot = slot(key); ; slot = (slot + 1) & mask){
+            int current = packed[slot];
+            if (current == key) return slot;
+            if (current == EMPTY) return -1;
+        }
+    }
+
+    /**
+     * Get the modern id of the given material with the given data value.
+     * @return the modern id, or null if the material has the same id in the modern versions
+     */
+    String getModernId(Material type, int data){
+        int slot = indexOf(type, data);
+        return slot == -1 ? null : modern[slot];
+    }
+
+    /**
+     * Get the id of the namespaced key of the given item.
+     * @param keys the index to get the id from
+     * @return the id, or -1 if the index does not contain the key
+     */
+    int getKeyId(KeyIndex keys, ItemStack item){
+        Resolved resolved = this.resolved;
+        if (resolved == null || resolved.keys != keys){
+            resolved = new Resolved(keys);
+            this.resolved = resolved;
+        }
+        Material type = item.getType();
+        int slot = indexOf(type, item.getDurability() & 0xFFFF);
+        return slot == -1 ? resolved.typeIds[type.ordinal()] : resolved.itemIds[slot];
+    }
+
+    HashMap<String, String> getMap(){
+        return map;
+    }
+
+    /**
+     * The key ids of the items and the materials resolved for a single {@link KeyIndex}.
+     */
+    private final class Resolved {
+        private final KeyIndex keys;
+        /**
+         * The ids of the {@link #namespacedKeys}.
+         */
+        private final int[] itemIds;
+        /**
+         * The ids of the keys of the materials which are not in the table, indexed by their ordinal.
+         */
+        private final int[] typeIds;
+
+        private Resolved(KeyIndex keys){
+            this.keys = keys;
+            this.itemIds = new int[namespacedKeys.length];
+            for (int i = 0; i < itemIds.length; i++){
+                itemIds[i] = namespacedKeys[i] == null ? -1 : keys.getId(namespacedKeys[i]);
+            }
+            Material[] types = Material.values();
+            this.typeIds = new int[types.length];
+            for (Material type : types){
+                typeIds[type.ordinal()] = keys.getId(Category.getItemKey(type, type.toString()));
+            }
+        }
+    }
+
+}
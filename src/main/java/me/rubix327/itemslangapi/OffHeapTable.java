@@ -0,0 +1,157 @@
+package me.rubix327.itemslangapi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * A table keeping the translations outside of the heap, in a memory-mapped temporary file.<br>
+ * The file consists of:
+ * <ul>
+ * <li>the index - the offset and the length of the UTF-8 bytes of every key id (two ints, offset -1 if there
+ * is no translation);</li>
+ * <li>the UTF-8 bytes of the translations. Equal translations of the language are stored once.</li>
+ * </ul>
+ * A translation is decoded into a String only when it is requested. The recently requested translations
+ * are kept in a small direct-mapped cache, so the hot keys are not decoded on every call.<br>
+ * The file is deleted right after it is mapped (or on exit if the system does not allow it),
+ * and the memory is released when the table is garbage collected.
+ */
+final class OffHeapTable extends LangTable {
+
+    private static final int NO_VALUE = -1;
+    private static final int INDEX_ENTRY = 8;
+
+    private final ByteBuffer buffer;
+    private final int length;
+    private final int size;
+    /**
+     * The cache of the decoded translations indexed by (id & mask), or null if disabled.
+     * Entries are immutable, so the racy writes of different threads are safe.
+     */
+    private final Entry[] cache;
+    private final int mask;
+
+    private OffHeapTable(ByteBuffer buffer, int length, int size, int cacheSize){
+        this.buffer = buffer;
+        this.length = length;
+        this.size = size;
+        this.cache = cacheSize > 0 ? new Entry[cacheSize] : null;
+        this.mask = cacheSize - 1;
+    }
+
+    /**
+     * Write the given translations into a new memory-mapped file.
+     * @param name the name of the table used in the file name
+     * @param values the translations indexed by key ids
+     * @param cacheSize the number of decoded translations to keep on the heap, 0 to disable the cache.
+     *                  Rounded up to a power of two.
+     * @throws IOException if the temporary file cannot be created or mapped
+     */
+    static OffHeapTable create(String name, String[] values, int cacheSize) throws IOException {
+        byte[][] encoded = new byte[values.length][];
+        int[] offsets = new int[values.length];
+        HashMap<String, Integer> written = new HashMap<>();
+        long size = (long) values.length * INDEX_ENTRY;
+        for (int i = 0; i < values.length; i++){
+            if (values[i] == null){
+                offsets[i] = NO_VALUE;
+                continue;
+            }
+            encoded[i] = values[i].getBytes(StandardCharsets.UTF_8);
+            Integer offset = written.get(values[i]);
+            if (offset == null){
+                if (size + encoded[i].length > Integer.MAX_VALUE) throw new IOException("The table is too large.");
+                offset = (int) size;
+                written.put(values[i], offset);
+                size += encoded[i].length;
+            }
+            offsets[i] = offset;
+        }
+
+        File file = File.createTempFile("ItemsLangAPI-" + name + "-", ".bin");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()){
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            for (int i = 0; i < values.length; i++){
+                int index = i * INDEX_ENTRY;
+                buffer.putInt(index, offsets[i]);
+                buffer.putInt(index + 4, encoded[i] == null ? 0 : encoded[i].length);
+                if (encoded[i] == null) continue;
+                buffer.position(offsets[i]);
+                buffer.put(encoded[i]);
+            }
+            buffer.position(0);
+            int cache = cacheSize <= 0 ? 0 : Integer.highestOneBit(Math.min(cacheSize, 1 << 20) * 2 - 1);
+            return new OffHeapTable(buffer.asReadOnlyBuffer(), values.length, (int) size, cache);
+        } finally {
+            if (!file.delete()) file.deleteOnExit();
+        }
+    }
+
+    @Override
+    String get(int id){
+        if (id < 0 || id >= length) return null;
+        if (cache != null){
+            Entry entry = cache[id & mask];
+            if (entry != null && entry.id == id) return entry.value;
+        }
+        int index = id * INDEX_ENTRY;
+        int offset = buffer.getInt(index);
+        if (offset == NO_VALUE) return null;
+        String value = decode(offset, buffer.getInt(index + 4));
+        if (cache != null) cache[id & mask] = new Entry(id, value);
+        return value;
+    }
+
+    private String decode(int offset, int length){
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++){
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    boolean contains(int id){
+        return id >= 0 && id < length && buffer.getInt(id * INDEX_ENTRY) != NO_VALUE;
+    }
+
+    @Override
+    int length(){
+        return length;
+    }
+
+    /**
+     * Get the size of the mapped file in bytes.
+     */
+    long getOffHeapBytes(){
+        return size;
+    }
+
+    /**
+     * Get the approximate amount of heap retained by the table when its cache is full.
+     */
+    long getHeapBytes(){
+        if (cache == null) return 64;
+        // The cache array and an entry with a short translation in every slot
+        return 64 + 16 + cache.length * (4 + 24 + 56L);
+    }
+
+    private static final class Entry {
+
+        private final int id;
+        private final String value;
+
+        private Entry(int id, String value){
+            this.id = id;
+            this.value = value;
+        }
+
+    }
+
+}
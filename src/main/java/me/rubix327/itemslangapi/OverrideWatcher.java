@@ -0,0 +1,108 @@
+package me.rubix327.itemslangapi;
+
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Watches the folder of the override language files (see {@link ItemsLangAPI#setOverrideFolder(File)})
+ * and reloads the languages whose files have been changed.<br>
+ * Editors often write a file in several steps, so the changes are collected for a short time
+ * and every changed language is reloaded only once.
+ */
+final class OverrideWatcher implements Runnable {
+
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final ItemsLangAPI api;
+    private final WatchService service;
+    private final Thread thread;
+
+    OverrideWatcher(ItemsLangAPI api, File folder) throws IOException {
+        this.api = api;
+        this.service = FileSystems.getDefault().newWatchService();
+        Path path = folder.toPath();
+        path.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this, "ItemsLangAPI override watcher");
+        this.thread.setDaemon(true);
+    }
+
+    void start(){
+        thread.start();
+    }
+
+    void stop(){
+        try {
+            service.close();
+        } catch (IOException ignored){ }
+    }
+
+    @Override
+    public void run(){
+        try {
+            while (true){
+                Set<Lang> changed = EnumSet.noneOf(Lang.class);
+                Map<String, Lang> misnamed = new LinkedHashMap<>();
+                collect(service.take(), changed, misnamed);
+                Thread.sleep(DEBOUNCE_MILLIS);
+                WatchKey key;
+                while ((key = service.poll()) != null){
+                    collect(key, changed, misnamed);
+                }
+                for (Map.Entry<String, Lang> file : misnamed.entrySet()){
+                    Bukkit.getLogger().warning("[ItemsLangApi] Override file " + file.getKey() + " is ignored, " +
+                            "rename it to " + ItemsLangAPI.getOverrideFileName(file.getValue()) + ".");
+                }
+                if (changed.isEmpty()) continue;
+
+                try {
+                    api.reload(changed.toArray(new Lang[0]));
+                } catch (RuntimeException e){
+                    Bukkit.getLogger().warning("[ItemsLangApi] Could not reload " + changed + ": " + e);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e){
+            // The watcher is stopped
+        }
+    }
+
+    /**
+     * Add the languages whose files are affected by the events of the given key.
+     * @param misnamed the files looking like override files, but not named exactly like them (e.g. <i>en-US.json</i>),
+     *                 and their languages
+     */
+    private void collect(WatchKey key, Set<Lang> changed, Map<String, Lang> misnamed){
+        for (WatchEvent<?> event : key.pollEvents()){
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW){
+                changed.addAll(EnumSet.allOf(Lang.class));
+                continue;
+            }
+            String name = event.context().toString();
+            if (!name.endsWith(".json")) continue;
+            Lang lang = Lang.fromCode(name.substring(0, name.length() - ".json".length()));
+            if (lang == null) continue;
+            // Only the exact names are read by the API, en-US.json or EN_US.json would be ignored on reload
+            if (ItemsLangAPI.getOverrideFileName(lang).equals(name)){
+                changed.add(lang);
+            }
+            else{
+                misnamed.put(name, lang);
+            }
+        }
+        key.reset();
+    }
+
+}
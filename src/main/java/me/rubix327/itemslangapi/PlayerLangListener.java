@@ -0,0 +1,30 @@
+package me.rubix327.itemslangapi;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Keeps the cache of the players languages (see {@link ItemsLangAPI#getLang(org.bukkit.entity.Player)}) up to date.
+ */
+final class PlayerLangListener implements Listener {
+
+    private final ItemsLangAPI api;
+
+    PlayerLangListener(ItemsLangAPI api){
+        this.api = api;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLocaleChange(PlayerLocaleChangeEvent event){
+        api.updatePlayerLang(event.getPlayer().getUniqueId(), event.getLocale());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event){
+        api.removePlayerLang(event.getPlayer().getUniqueId());
+    }
+
+}
@@ -0,0 +1,31 @@
+package me.rubix327.itemslangapi;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe pool keeping a single instance of equal strings.<br>
+ * Only use it for strings repeated many times (like the keys shared by all the languages),
+ * because every pooled string costs a map entry.
+ */
+final class StringPool {
+
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+
+    /**
+     * Get the pooled instance equal to the given string, adding the string to the pool if there is none.
+     * @param value the string
+     * @return the pooled instance
+     */
+    String intern(String value){
+        String existing = strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Get the amount of pooled strings.
+     */
+    int size(){
+        return strings.size();
+    }
+
+}
@@ -0,0 +1,56 @@
+package me.rubix327.itemslangapi;
+
+/**
+ * A reusable handle of a localization key.<br>
+ * Translating a handle skips hashing the key string, so it is the fastest way to translate
+ * the same key many times. Get it by {@link ItemsLangAPI#getKey(String)}.
+ */
+public final class TranslationKey {
+
+    private final String key;
+    /**
+     * The id of the key in the {@link KeyIndex}, or -1 if the key was not known yet when it was last resolved.
+     */
+    private volatile int id;
+
+    TranslationKey(String key, int id){
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * Get the namespaced key of this handle.
+     * @return the lowercase namespaced key, e.g. "item.minecraft.diamond"
+     */
+    public String getKey(){
+        return key;
+    }
+
+    /**
+     * Get the id of the key, resolving it in the given index if it is not resolved yet.
+     */
+    int getId(KeyIndex index){
+        int id = this.id;
+        if (id == -1){
+            id = index.getId(key);
+            this.id = id;
+        }
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o){
+        return this == o || (o instanceof TranslationKey && key.equals(((TranslationKey) o).key));
+    }
+
+    @Override
+    public int hashCode(){
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString(){
+        return key;
+    }
+
+}
@@ -0,0 +1,134 @@
+package me.rubix327.itemslangapi;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the translations made by the API, see {@link ItemsLangAPI#getMetrics()}.<br>
+ * A lookup is a single translation of an object or a key to a language. It is a miss if the translation is null,
+ * e.g. the language is not loaded or has no such key. The lookups of {@link ItemsLangAPI#translate(Object, Lang)}
+ * and its modifications are also counted per category. ItemStacks are counted as blocks, items or music discs, depending on their type.<br>
+ * The counters are striped ({@link LongAdder}), so counting stays cheap when many threads translate at once.
+ */
+public final class TranslationMetrics {
+
+    private static final Lang[] LANGS = Lang.values();
+
+    private final LongAdder[] lookups = adders(LANGS.length);
+    private final LongAdder[] misses = adders(LANGS.length);
+    private final LongAdder[] defaultFallbacks = adders(LANGS.length);
+    private final LongAdder[] categoryLookups = adders(Category.VALUES.length);
+    private final LongAdder[] categoryMisses = adders(Category.VALUES.length);
+
+    TranslationMetrics(){ }
+
+    private static LongAdder[] adders(int size){
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++){
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    void recordLookup(Lang lang, @Nullable Category cat, boolean isHit){
+        lookups[lang.ordinal()].increment();
+        if (!isHit) misses[lang.ordinal()].increment();
+        if (cat == null) return;
+        categoryLookups[cat.ordinal()].increment();
+        if (!isHit) categoryMisses[cat.ordinal()].increment();
+    }
+
+    void recordDefaultFallback(Lang lang){
+        defaultFallbacks[lang.ordinal()].increment();
+    }
+
+    /**
+     * Get the amount of lookups of all the languages.
+     */
+    public long getLookups(){
+        long sum = 0;
+        for (LongAdder adder : lookups){
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+    /**
+     * Get the amount of misses of all the languages.
+     */
+    public long getMisses(){
+        long sum = 0;
+        for (LongAdder adder : misses){
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+    /**
+     * Get the amount of lookups of the given language.
+     */
+    public long getLookups(Lang lang){
+        return lookups[lang.ordinal()].sum();
+    }
+
+    /**
+     * Get the amount of lookups of the given language which found a translation.
+     */
+    public long getHits(Lang lang){
+        return Math.max(0, getLookups(lang) - getMisses(lang));
+    }
+
+    /**
+     * Get the amount of lookups of the given language which found no translation.
+     */
+    public long getMisses(Lang lang){
+        return misses[lang.ordinal()].sum();
+    }
+
+    /**
+     * Get the amount of lookups of the given language answered by the default language:
+     * while the language is being loaded (see {@link ItemsLangAPI#loadAsync(Lang...)}),
+     * or because the language has no such key (see {@link ItemsLangAPI#setFallbackToDefault(boolean)}).
+     */
+    public long getDefaultFallbacks(Lang lang){
+        return defaultFallbacks[lang.ordinal()].sum();
+    }
+
+    /**
+     * Get the amount of lookups of every category.
+     * @return the category names (e.g. "ENCHANTMENT") and their lookups
+     */
+    public Map<String, Long> getCategoryLookups(){
+        return toMap(categoryLookups);
+    }
+
+    /**
+     * Get the amount of misses of every category.
+     * @return the category names (e.g. "ENCHANTMENT") and their misses
+     */
+    public Map<String, Long> getCategoryMisses(){
+        return toMap(categoryMisses);
+    }
+
+    private static Map<String, Long> toMap(LongAdder[] adders){
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Category cat : Category.VALUES){
+            map.put(cat.name(), adders[cat.ordinal()].sum());
+        }
+        return map;
+    }
+
+    /**
+     * Set all the counters to zero.
+     */
+    public void reset(){
+        for (LongAdder[] adders : new LongAdder[][]{lookups, misses, defaultFallbacks, categoryLookups, categoryMisses}){
+            for (LongAdder adder : adders){
+                adder.reset();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package me.rubix327.itemslangapi;
+
+import org.bukkit.Material;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Readers translating on many threads while the languages are loaded, reloaded and unloaded
+ * must always see a complete snapshot: never a null for a loaded language and never a wrong translation.
+ */
+public class ConcurrentReloadTest {
+
+    private static final int READERS = 4;
+    private static final int CYCLES = 50;
+    /**
+     * The languages staying loaded during the test. They are reloaded on every cycle.
+     */
+    private static final Lang[] STABLE = {Lang.FR_FR, Lang.DE_DE};
+    /**
+     * The languages loaded and unloaded on every cycle.
+     */
+    private static final Lang[] CHURN = {Lang.ES_ES, Lang.IT_IT};
+    private static final String[] KEYS = {"block.minecraft.stone", "item.minecraft.diamond", "entity.minecraft.fox"};
+
+    private static ItemsLangAPI api;
+    private static final EnumMap<Lang, String[]> expected = new EnumMap<>(Lang.class);
+
+    @BeforeClass
+    public static void setUp(){
+        TestServer.install();
+        api = ItemsLangAPI.getApi();
+        api.load(STABLE);
+        api.load(CHURN);
+        for (Lang lang : Lang.values()){
+            if (!api.isLoaded(lang)) continue;
+            String[] values = new String[KEYS.length + 1];
+            for (int i = 0; i < KEYS.length; i++){
+                values[i] = api.translateExact(KEYS[i], lang);
+                assertNotNull(values[i]);
+            }
+            values[KEYS.length] = api.translate(Material.DIAMOND, lang);
+            expected.put(lang, values);
+        }
+        api.unload(CHURN);
+    }
+
+    @Test(timeout = 120_000)
+    public void readersSeeCompleteSnapshots() throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder reads = new LongAdder();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++){
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!stop.get()){
+                        for (Lang lang : STABLE) check(lang, false, failures);
+                        for (Lang lang : CHURN) check(lang, true, failures);
+                        reads.increment();
+                    }
+                } catch (Throwable e){
+                    failures.add(e.toString());
+                }
+            }, "Reader-" + i);
+            reader.start();
+            readers.add(reader);
+        }
+
+        try {
+            for (int i = 0; i < CYCLES && failures.isEmpty(); i++){
+                api.load(CHURN);
+                api.reload(STABLE);
+                api.unload(CHURN);
+            }
+        } finally {
+            stop.set(true);
+            for (Thread reader : readers){
+                reader.join();
+            }
+        }
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertTrue(reads.sum() > 0);
+    }
+
+    /**
+     * Translate all the keys to the given language and record the unexpected translations.
+     * @param isNullAllowed can the language be unloaded at the moment?
+     */
+    private static void check(Lang lang, boolean isNullAllowed, Queue<String> failures){
+        String[] values = expected.get(lang);
+        for (int i = 0; i <= KEYS.length; i++){
+            String actual = i < KEYS.length ? api.translateExact(KEYS[i], lang) : api.translate(Material.DIAMOND, lang);
+            if (actual == null ? !isNullAllowed : !actual.equals(values[i])){
+                failures.add(lang + " " + (i < KEYS.length ? KEYS[i] : Material.DIAMOND) + ": " + actual + " instead of " + values[i]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package me.rubix327.itemslangapi;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+public class FallbackTest {
+
+    private static ItemsLangAPI api;
+    private static File folder;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        TestServer.install();
+        api = ItemsLangAPI.getApi();
+        folder = Files.createTempDirectory("ila-overrides").toFile();
+        writeOverride("Valeur");
+        api.setOverrideFolder(folder);
+        api.setFallback(Lang.ES_MX, Lang.FR_FR);
+        api.load(Lang.FR_FR);
+        api.reload(Lang.FR_FR);
+        api.load(Lang.ES_MX);
+    }
+
+    @AfterClass
+    public static void tearDown(){
+        api.unload(Lang.ES_MX);
+        api.setFallback(Lang.ES_MX);
+        api.setOverrideFolder(null);
+        api.reload(Lang.FR_FR);
+        new File(folder, "fr_fr.json").delete();
+        folder.delete();
+    }
+
+    @Test
+    public void ownTranslationsArePreferred(){
+        assertEquals(Lang.ES_MX, api.getSource("block.minecraft.stone", Lang.ES_MX));
+    }
+
+    @Test
+    public void keysAddedByFallbackOverridesAreFilled(){
+        assertEquals("Valeur", api.translateExact("custom.key", Lang.FR_FR));
+        assertEquals("Valeur", api.translateExact("custom.key", Lang.ES_MX));
+        assertEquals(Lang.FR_FR, api.getSource("custom.key", Lang.ES_MX));
+    }
+
+    @Test
+    public void reloadingFallbackUpdatesDependents() throws IOException {
+        writeOverride("Nouvelle valeur");
+        api.reload(Lang.FR_FR);
+        try {
+            assertEquals("Nouvelle valeur", api.translateExact("custom.key", Lang.ES_MX));
+            assertEquals(Lang.ES_MX, api.getSource("block.minecraft.stone", Lang.ES_MX));
+        } finally {
+            writeOverride("Valeur");
+            api.reload(Lang.FR_FR);
+        }
+    }
+
+    private static void writeOverride(String value) throws IOException {
+        Files.write(new File(folder, "fr_fr.json").toPath(),
+                ("{\"custom.key\": \"" + value + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+}
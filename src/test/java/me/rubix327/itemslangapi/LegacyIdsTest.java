@@ -0,0 +1,54 @@
+package me.rubix327.itemslangapi;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LegacyIdsTest {
+
+    private static LegacyIds legacy;
+    private static KeyIndex keys;
+
+    @BeforeClass
+    public static void setUp(){
+        TestServer.install();
+        HashMap<String, String> map = new HashMap<>();
+        map.put("stone-1", "granite");
+        map.put("stone-8193", "regeneration_stone");
+        legacy = new LegacyIds(map);
+        keys = new KeyIndex(new String[]{"block.minecraft.stone", "block.minecraft.granite", "block.minecraft.regeneration_stone"});
+    }
+
+    @Test
+    public void findsDataValuesAbove127(){
+        assertEquals("regeneration_stone", legacy.getModernId(Material.STONE, 8193));
+        assertEquals(2, legacy.getKeyId(keys, item(8193)));
+        // 8193 cut to a byte is 1, which is granite
+        assertEquals(1, legacy.getKeyId(keys, item(1)));
+    }
+
+    @Test
+    public void missingIdsResolveToTheMaterial(){
+        assertNull(legacy.getModernId(Material.STONE, 2));
+        assertEquals(0, legacy.getKeyId(keys, item(2)));
+    }
+
+    /**
+     * An item with the given data value. The modern API keeps no data value without a server, so it is overridden.
+     */
+    private static ItemStack item(int data){
+        return new ItemStack(Material.STONE){
+            @Override
+            public short getDurability(){
+                return (short) data;
+            }
+        };
+    }
+
+}
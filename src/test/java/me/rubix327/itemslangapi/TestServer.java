@@ -0,0 +1,59 @@
+package me.rubix327.itemslangapi;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.inventory.ItemFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The minimal Bukkit server needed by the API in the tests.<br>
+ * It is a proxy answering only the version and logger requests (1.19.2), every other method returns null, false or 0.
+ */
+final class TestServer {
+
+    private TestServer(){ }
+
+    /**
+     * Install the server if there is no server yet.
+     */
+    static synchronized void install(){
+        if (Bukkit.getServer() != null) return;
+        Logger logger = Logger.getLogger("ItemsLangApiTest");
+        logger.setLevel(Level.WARNING);
+        Bukkit.setServer(proxy(Server.class, logger));
+    }
+
+    private static <T> T proxy(Class<T> type, Logger logger){
+        InvocationHandler handler = (proxy, method, args) -> answer(proxy, method, args, logger);
+        return type.cast(Proxy.newProxyInstance(TestServer.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object answer(Object proxy, Method method, Object[] args, Logger logger){
+        switch (method.getName()){
+            case "getLogger": return logger;
+            case "getName": return "TestServer";
+            case "getVersion": return "TestServer (MC: 1.19.2)";
+            case "getBukkitVersion": return "1.19.2-R0.1-SNAPSHOT";
+            case "hashCode": return System.identityHashCode(proxy);
+            case "equals": return proxy == args[0];
+            case "toString": return "TestServer";
+        }
+        if (method.getReturnType() == ItemFactory.class) return proxy(ItemFactory.class, logger);
+        Class<?> type = method.getReturnType();
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+
+}
@@ -0,0 +1,63 @@
+package me.rubix327.itemslangapi;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TranslateExactTest {
+
+    private static final int LOOKUPS = 100_000;
+    private static final String[] KEYS = {
+            "block.minecraft.stone", "item.minecraft.diamond", "BLOCK.MINECRAFT.DIRT", "entity.minecraft.fox"
+    };
+
+    private static ItemsLangAPI api;
+
+    @BeforeClass
+    public static void setUp(){
+        TestServer.install();
+        api = ItemsLangAPI.getApi();
+        api.load(Lang.FR_FR);
+    }
+
+    @Test
+    public void translatesIgnoringCase(){
+        assertEquals("Roche", api.translateExact("block.minecraft.stone", Lang.FR_FR));
+        assertEquals("Roche", api.translateExact("Block.Minecraft.STONE", Lang.FR_FR));
+        assertNull(api.translateExact("block.minecraft.no_such_block", Lang.FR_FR));
+    }
+
+    @Test
+    public void hitsDoNotAllocate(){
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        // Warm up, so the lookups are compiled
+        lookup(LOOKUPS * 2);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        int hits = lookup(LOOKUPS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(LOOKUPS, hits);
+        // Reading the counter may allocate a few bytes by itself, a single allocation per lookup would be megabytes
+        assertTrue(allocated + " bytes allocated by " + LOOKUPS + " lookups", allocated < 1024);
+    }
+
+    private static int lookup(int count){
+        int hits = 0;
+        for (int i = 0; i < count; i++){
+            if (api.translateExact(KEYS[i & 3], Lang.FR_FR) != null) hits++;
+        }
+        return hits;
+    }
+
+}
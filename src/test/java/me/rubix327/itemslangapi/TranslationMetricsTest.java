@@ -0,0 +1,39 @@
+package me.rubix327.itemslangapi;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class TranslationMetricsTest {
+
+    private static ItemsLangAPI api;
+
+    @BeforeClass
+    public static void setUp(){
+        TestServer.install();
+        api = ItemsLangAPI.getApi();
+        api.load(Lang.FR_FR);
+    }
+
+    @Test
+    public void itemStacksAreCountedByTheirKeyCategory(){
+        TranslationMetrics metrics = api.getMetrics();
+        metrics.reset();
+        api.translate(new ItemStack(Material.STONE), Lang.FR_FR);
+        api.translate(new ItemStack(Material.DIAMOND), Lang.FR_FR);
+        api.translateAll(new ItemStack[]{new ItemStack(Material.MUSIC_DISC_CAT), new ItemStack(Material.DIAMOND)}, Lang.FR_FR);
+
+        Map<String, Long> lookups = metrics.getCategoryLookups();
+        assertEquals(1L, (long) lookups.get("BLOCK"));
+        assertEquals(2L, (long) lookups.get("ITEM"));
+        assertEquals(1L, (long) lookups.get("MUSIC_DISC"));
+        assertEquals(4L, metrics.getLookups(Lang.FR_FR));
+        assertEquals(metrics.getLookups(Lang.FR_FR), metrics.getHits(Lang.FR_FR) + metrics.getMisses(Lang.FR_FR));
+    }
+
+}